@@ -0,0 +1,94 @@
+package com.example.Assets.Management.App.benchmarks;
+
+import com.example.Assets.Management.App.Enums.DepreciationMethod;
+import com.example.Assets.Management.App.dto.responseDto.FinancialYearSummaryDTO;
+import com.example.Assets.Management.App.model.Category;
+import com.example.Assets.Management.App.model.FinancialYear;
+import com.example.Assets.Management.App.model.PurchaseHistory;
+import com.example.Assets.Management.App.repository.PurchaseHistoryRepository;
+import com.example.Assets.Management.App.service.AssetValuationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * AssetValuationService financial-year valuation over a mocked repository,
+ * so the score is the in-memory valuation and DTO assembly cost.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AssetValuationBenchmark {
+
+    @Param({"WDV"})
+    public DepreciationMethod method;
+
+    @Param({"10"})
+    public int segments;
+
+    @Param({"1000", "10000"})
+    public int assetCount;
+
+    @Param({"10"})
+    public int categoryCount;
+
+    @Param({"10"})
+    public int rangeYears;
+
+    @Param({"4"})
+    public int parallelism;
+
+    private AssetValuationService assetValuationService;
+    private FinancialYear rangeStart;
+    private ForkJoinPool valuationPool;
+
+    @Setup
+    public void setUp() {
+        List<Category> categories = ValuationFixtures.categories(categoryCount);
+        List<PurchaseHistory> purchases = ValuationFixtures.purchases(categories, assetCount);
+
+        PurchaseHistoryRepository purchaseHistoryRepository = mock(PurchaseHistoryRepository.class);
+        when(purchaseHistoryRepository.findLatestPurchasePerAsset())
+                .thenReturn(ValuationFixtures.latestPurchaseViews(purchases));
+
+        valuationPool = new ForkJoinPool(parallelism);
+        assetValuationService = new AssetValuationService(purchaseHistoryRepository,
+                ValuationFixtures.depreciationService(ValuationFixtures.rates(categories, method, segments)),
+                valuationPool);
+        rangeStart = FinancialYear.of(ValuationFixtures.AS_OF_YEAR.getStartYear() - rangeYears + 1);
+    }
+
+    @TearDown
+    public void tearDown() {
+        valuationPool.shutdown();
+    }
+
+    @Benchmark
+    public FinancialYearSummaryDTO getAssetValuationsForFinancialYear() {
+        return assetValuationService.getAssetValuationsForFinancialYear(ValuationFixtures.AS_OF_YEAR);
+    }
+
+    @Benchmark
+    public List<FinancialYearSummaryDTO> getAssetValuationsForYearRange() {
+        return assetValuationService.getAssetValuationsForYearRange(rangeStart, ValuationFixtures.AS_OF_YEAR);
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.Assets.Management.App.benchmarks;
+
+import com.example.Assets.Management.App.Enums.DepreciationMethod;
+import com.example.Assets.Management.App.model.Category;
+import com.example.Assets.Management.App.model.PurchaseHistory;
+import com.example.Assets.Management.App.service.DepreciationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DepreciationService.calculateDepreciation per method and number of rate segments.
+ * Scores are per valued purchase; purchaseCount only sizes the working set.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DepreciationBenchmark {
+
+    private static final int PURCHASES_PER_INVOCATION = 1024;
+
+    @Param({"SLM", "WDV", "PRO_RATA"})
+    public DepreciationMethod method;
+
+    @Param({"1", "10", "50"})
+    public int segments;
+
+    @Param({"10000"})
+    public int purchaseCount;
+
+    @Param({"10"})
+    public int categoryCount;
+
+    private DepreciationService depreciationService;
+    private double[] purchasePrices;
+    private LocalDate[] purchaseDates;
+    private Long[] categoryIds;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        List<Category> categories = ValuationFixtures.categories(categoryCount);
+        depreciationService = ValuationFixtures.depreciationService(
+                ValuationFixtures.rates(categories, method, segments));
+
+        List<PurchaseHistory> purchases = ValuationFixtures.purchases(categories, purchaseCount);
+        purchasePrices = new double[purchaseCount];
+        purchaseDates = new LocalDate[purchaseCount];
+        categoryIds = new Long[purchaseCount];
+        for (int i = 0; i < purchaseCount; i++) {
+            PurchaseHistory purchase = purchases.get(i);
+            purchasePrices[i] = purchase.getPurchasePrice();
+            purchaseDates[i] = purchase.getPurchaseDate();
+            categoryIds[i] = purchase.getAsset().getCategory().getId();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PURCHASES_PER_INVOCATION)
+    public void calculateDepreciation(Blackhole blackhole) {
+        int i = cursor;
+        for (int k = 0; k < PURCHASES_PER_INVOCATION; k++) {
+            blackhole.consume(depreciationService.calculateDepreciation(
+                    purchasePrices[i], purchaseDates[i], categoryIds[i], ValuationFixtures.AS_OF_DATE));
+            if (++i == purchaseCount) {
+                i = 0;
+            }
+        }
+        cursor = i;
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.Assets.Management.App.benchmarks;
+
+import com.example.Assets.Management.App.Enums.DepreciationMethod;
+import com.example.Assets.Management.App.dto.mapper.PurchaseHistoryMapper;
+import com.example.Assets.Management.App.model.Category;
+import com.example.Assets.Management.App.model.PurchaseHistory;
+import com.example.Assets.Management.App.service.ValuationSnapshotService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * PurchaseHistoryMapper on a page of purchases without valuation snapshots,
+ * row by row (toResponseDTO) and as one batch (toResponseDTOs).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PurchaseHistoryMapperBenchmark {
+
+    @Param({"WDV"})
+    public DepreciationMethod method;
+
+    @Param({"10"})
+    public int segments;
+
+    @Param({"20", "1000"})
+    public int pageSize;
+
+    @Param({"10"})
+    public int categoryCount;
+
+    private PurchaseHistoryMapper mapper;
+    private List<PurchaseHistory> page;
+
+    @Setup
+    public void setUp() {
+        List<Category> categories = ValuationFixtures.categories(categoryCount);
+        mapper = new PurchaseHistoryMapper();
+        ReflectionTestUtils.setField(mapper, "depreciationService",
+                ValuationFixtures.depreciationService(ValuationFixtures.rates(categories, method, segments)));
+        // Mocked snapshot service has no snapshots, so every row is valued from the rate index
+        ReflectionTestUtils.setField(mapper, "valuationSnapshotService", mock(ValuationSnapshotService.class));
+        page = ValuationFixtures.purchases(categories, pageSize);
+    }
+
+    @Benchmark
+    public void toResponseDTO(Blackhole blackhole) {
+        for (PurchaseHistory purchase : page) {
+            blackhole.consume(mapper.toResponseDTO(purchase));
+        }
+    }
+
+    @Benchmark
+    public void toResponseDTOs(Blackhole blackhole) {
+        blackhole.consume(mapper.toResponseDTOs(page));
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.Assets.Management.App.benchmarks;
+
+import com.example.Assets.Management.App.Enums.AssetStatus;
+import com.example.Assets.Management.App.Enums.DepreciationMethod;
+import com.example.Assets.Management.App.model.Asset;
+import com.example.Assets.Management.App.model.Category;
+import com.example.Assets.Management.App.model.DepreciationRate;
+import com.example.Assets.Management.App.model.FinancialYear;
+import com.example.Assets.Management.App.model.PurchaseHistory;
+import com.example.Assets.Management.App.repository.DepreciationRateRepository;
+import com.example.Assets.Management.App.repository.projection.AssetLatestPurchaseView;
+import com.example.Assets.Management.App.service.DepreciationRateIndex;
+import com.example.Assets.Management.App.service.DepreciationService;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Synthetic, seeded data for the valuation benchmarks.
+ * Rates cover FIRST_RATE_DATE..AS_OF_DATE in equal back-to-back segments, the last one open-ended;
+ * purchases are spread uniformly over the same span so every segment count is exercised.
+ */
+final class ValuationFixtures {
+
+    static final LocalDate FIRST_RATE_DATE = LocalDate.of(2000, 4, 1);
+    static final LocalDate AS_OF_DATE = LocalDate.of(2025, 3, 31);
+    static final FinancialYear AS_OF_YEAR = FinancialYear.of(AS_OF_DATE);
+
+    private static final long SEED = 42L;
+
+    private ValuationFixtures() {
+    }
+
+    static List<Category> categories(int count) {
+        List<Category> categories = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            categories.add(new Category((long) (i + 1), "Category " + (i + 1)));
+        }
+        return categories;
+    }
+
+    /**
+     * segments back-to-back rates per category, all with the given method.
+     */
+    static List<DepreciationRate> rates(List<Category> categories, DepreciationMethod method, int segments) {
+        long span = AS_OF_DATE.toEpochDay() - FIRST_RATE_DATE.toEpochDay() + 1;
+        long length = Math.max(1, span / segments);
+        double percentage = switch (method) {
+            case SLM -> 4.0;
+            case WDV -> 25.0;
+            case PRO_RATA -> 15.0;
+        };
+        List<DepreciationRate> rates = new ArrayList<>(categories.size() * segments);
+        long id = 1;
+        for (Category category : categories) {
+            LocalDate from = FIRST_RATE_DATE;
+            for (int s = 0; s < segments; s++) {
+                boolean last = s == segments - 1;
+                rates.add(DepreciationRate.builder()
+                        .id(id++)
+                        .category(category)
+                        .financialYear(FinancialYear.of(from))
+                        .depreciationPercentage(percentage)
+                        .depreciationMethod(method)
+                        .effectiveFromDate(from)
+                        .effectiveToDate(last ? null : from.plusDays(length - 1))
+                        .build());
+                from = from.plusDays(length);
+            }
+        }
+        return rates;
+    }
+
+    /**
+     * A DepreciationService backed by a real rate index over a mocked rate repository.
+     */
+    static DepreciationService depreciationService(List<DepreciationRate> rates) {
+        DepreciationRateRepository repository = mock(DepreciationRateRepository.class);
+        when(repository.findAll()).thenReturn(rates);
+        DepreciationRateIndex index = new DepreciationRateIndex(repository);
+        index.rebuild();
+        return new DepreciationService(repository, index);
+    }
+
+    /**
+     * One asset per purchase, round-robin over the categories.
+     */
+    static List<PurchaseHistory> purchases(List<Category> categories, int count) {
+        Random random = new Random(SEED);
+        long firstDay = FIRST_RATE_DATE.toEpochDay();
+        int span = (int) (AS_OF_DATE.toEpochDay() - firstDay);
+        List<PurchaseHistory> purchases = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Asset asset = new Asset();
+            asset.setId((long) (i + 1));
+            asset.setName("Asset " + (i + 1));
+            asset.setCategory(categories.get(i % categories.size()));
+            asset.setStatus(AssetStatus.AVAILABLE);
+
+            LocalDate purchaseDate = LocalDate.ofEpochDay(firstDay + random.nextInt(span));
+            purchases.add(PurchaseHistory.builder()
+                    .id((long) (i + 1))
+                    .asset(asset)
+                    .purchaseDate(purchaseDate)
+                    .purchasePrice(1_000.0 + random.nextInt(200_000))
+                    .expiryDate(purchaseDate.plusYears(3))
+                    .vendorName("Vendor " + (i % 50))
+                    .invoiceNumber("INV-" + (i + 1))
+                    .warrantyPeriod(36)
+                    .qty(1)
+                    .notify("No")
+                    .build());
+        }
+        return purchases;
+    }
+
+    /**
+     * The latest-purchase rows the valuation query returns for the given purchases (one per asset).
+     */
+    static List<AssetLatestPurchaseView> latestPurchaseViews(List<PurchaseHistory> purchases) {
+        List<AssetLatestPurchaseView> views = new ArrayList<>(purchases.size());
+        for (PurchaseHistory purchase : purchases) {
+            Asset asset = purchase.getAsset();
+            views.add(new LatestPurchaseRow(asset.getId(), asset.getName(), asset.getCategory().getId(),
+                    asset.getCategory().getName(), purchase.getId(), purchase.getPurchaseDate(), purchase.getPurchasePrice()));
+        }
+        return views;
+    }
+
+    private record LatestPurchaseRow(Long assetId, String assetName, Long categoryId, String categoryName,
+                                     Long purchaseId, LocalDate purchaseDate, Double purchasePrice)
+            implements AssetLatestPurchaseView {
+        public Long getAssetId() { return assetId; }
+        public String getAssetName() { return assetName; }
+        public Long getCategoryId() { return categoryId; }
+        public String getCategoryName() { return categoryName; }
+        public Long getPurchaseId() { return purchaseId; }
+        public LocalDate getPurchaseDate() { return purchaseDate; }
+        public Double getPurchasePrice() { return purchasePrice; }
+    }
+}
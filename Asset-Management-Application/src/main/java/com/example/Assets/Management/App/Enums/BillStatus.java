@@ -0,0 +1,10 @@
+package com.example.Assets.Management.App.Enums;
+
+/**
+ * Where a purchase's bill PDF is; null when the purchase has no bill.
+ */
+public enum BillStatus {
+    PENDING,   // staged locally, waiting for the background upload
+    UPLOADED,
+    FAILED     // the upload gave up after its retries
+}
@@ -0,0 +1,8 @@
+package com.example.Assets.Management.App.Enums;
+
+public enum BillUploadTaskStatus {
+    PENDING,
+    DONE,
+    SUPERSEDED,   // a newer bill was attached, or the purchase was deleted, before this one was uploaded
+    FAILED
+}
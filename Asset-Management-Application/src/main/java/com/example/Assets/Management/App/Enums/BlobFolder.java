@@ -0,0 +1,19 @@
+package com.example.Assets.Management.App.Enums;
+
+/**
+ * Kinds of uploaded files; each kind is kept in its own folder of the blob store.
+ */
+public enum BlobFolder {
+    ASSET_IMAGE("asset_image"),
+    BILL("bills");
+
+    private final String directory;
+
+    BlobFolder(String directory) {
+        this.directory = directory;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+}
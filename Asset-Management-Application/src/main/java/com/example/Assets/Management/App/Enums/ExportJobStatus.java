@@ -0,0 +1,8 @@
+package com.example.Assets.Management.App.Enums;
+
+public enum ExportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
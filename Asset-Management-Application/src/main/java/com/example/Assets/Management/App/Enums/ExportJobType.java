@@ -0,0 +1,7 @@
+package com.example.Assets.Management.App.Enums;
+
+public enum ExportJobType {
+    PURCHASE_HISTORY,
+    ASSIGNMENT_HISTORY,
+    VALUATION
+}
@@ -0,0 +1,6 @@
+package com.example.Assets.Management.App.Enums;
+
+public enum ValuationStreamFormat {
+    NDJSON,
+    CSV
+}
@@ -0,0 +1,23 @@
+package com.example.Assets.Management.App.config;
+
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class ApplicationTaskExecutorConfig {
+
+    /**
+     * The application task executor Spring Boot would normally auto-configure. Boot backs off as soon as any
+     * Executor bean exists (e.g. the valuation fork-join pool), and Spring MVC would then run every
+     * StreamingResponseBody on a new, unpooled thread. Built with Boot's builder, so spring.task.execution.* applies.
+     */
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+                  AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME})
+    public ThreadPoolTaskExecutor applicationTaskExecutor(ThreadPoolTaskExecutorBuilder builder) {
+        return builder.build();
+    }
+}
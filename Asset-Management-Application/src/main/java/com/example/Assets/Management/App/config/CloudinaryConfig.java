@@ -3,6 +3,7 @@ package com.example.Assets.Management.App.config;
 import com.cloudinary.Cloudinary;
 import org.springframework.context.annotation.Bean;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Configuration;
 
 import org.springframework.util.StringUtils;
@@ -11,6 +12,7 @@ import java.util.Map;
 import java.util.HashMap;
 
 @Configuration
+@ConditionalOnProperty(name = "storage.backend", havingValue = "cloudinary", matchIfMissing = true)
 public class CloudinaryConfig {
 
 
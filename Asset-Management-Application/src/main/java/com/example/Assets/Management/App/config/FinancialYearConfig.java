@@ -0,0 +1,22 @@
+package com.example.Assets.Management.App.config;
+
+import com.example.Assets.Management.App.model.FinancialYear;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+@Configuration
+public class FinancialYearConfig {
+
+    /**
+     * Month (1-12) in which a financial year starts; 4 = April, i.e. "2023-24" runs 2023-04-01..2024-03-31.
+     * Applied from a bean factory post-processor, which runs before any bean is created, so no constructor
+     * or @PostConstruct can see the April default instead of the configured month.
+     */
+    @Bean
+    public static BeanFactoryPostProcessor financialYearStartMonth(Environment environment) {
+        int startMonth = environment.getProperty("valuation.financial-year.start-month", Integer.class, 4);
+        return beanFactory -> FinancialYear.configureStartMonth(startMonth);
+    }
+}
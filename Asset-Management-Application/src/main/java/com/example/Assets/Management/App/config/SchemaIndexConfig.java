@@ -0,0 +1,100 @@
+package com.example.Assets.Management.App.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * PostgreSQL schema that @Table(indexes = ...) cannot express (partial and GIN indexes, the full-text
+ * search column and the triggers maintaining it), created once Hibernate has updated the schema.
+ * Every statement is idempotent and runs before the listeners that read from these tables at startup.
+ */
+@Component
+public class SchemaIndexConfig {
+    private static final Logger logger = LoggerFactory.getLogger(SchemaIndexConfig.class);
+
+    private static final List<String> STATEMENTS = List.of(
+            // Rows written before notify was normalised on save
+            "UPDATE purchase_history SET notify = 'Yes' WHERE notify <> 'Yes' AND UPPER(notify) = 'YES'",
+            "UPDATE purchase_history SET notify = 'No' WHERE notify <> 'No' AND UPPER(notify) = 'NO'",
+            // Invoice numbers used to be unique across all purchases; the entity now declares them unique per asset,
+            // which Hibernate adds but does not replace the old single-column constraint with
+            """
+            DO $$
+            DECLARE c record;
+            BEGIN
+                FOR c IN
+                    SELECT con.conname FROM pg_constraint con
+                    JOIN pg_attribute att ON att.attrelid = con.conrelid AND att.attnum = con.conkey[1]
+                    WHERE con.conrelid = 'purchase_history'::regclass AND con.contype = 'u'
+                      AND array_length(con.conkey, 1) = 1 AND att.attname = 'invoice_number'
+                LOOP
+                    EXECUTE format('ALTER TABLE purchase_history DROP CONSTRAINT %I', c.conname);
+                END LOOP;
+            END
+            $$
+            """,
+            // Expiring-soon / expired lists and the dashboard expiry counters only read notifying purchases
+            "CREATE INDEX IF NOT EXISTS idx_purchase_history_notify_expiry ON purchase_history (expiry_date) WHERE notify = 'Yes'",
+            // Full-text search: invoice number (not stemmed, ranked highest), asset name, vendor and description.
+            // The column is not mapped by the entity; a trigger fills it on every insert and on updates of its sources,
+            // which covers JPA saves and the JDBC batch inserts of the bulk import alike.
+            "ALTER TABLE purchase_history ADD COLUMN IF NOT EXISTS search_vector tsvector",
+            """
+            CREATE OR REPLACE FUNCTION purchase_history_search_vector() RETURNS trigger AS $$
+            BEGIN
+                NEW.search_vector :=
+                    setweight(to_tsvector('simple', coalesce(NEW.invoice_number, '')), 'A') ||
+                    setweight(to_tsvector('english', coalesce((SELECT a.name FROM asset a WHERE a.id = NEW.asset_id), '')), 'B') ||
+                    setweight(to_tsvector('english', coalesce(NEW.vendor_name, '')), 'B') ||
+                    setweight(to_tsvector('english', coalesce(NEW.description, '')), 'C');
+                RETURN NEW;
+            END
+            $$ LANGUAGE plpgsql
+            """,
+            "DROP TRIGGER IF EXISTS trg_purchase_history_search_vector ON purchase_history",
+            "CREATE TRIGGER trg_purchase_history_search_vector BEFORE INSERT OR UPDATE OF asset_id, invoice_number, vendor_name, description "
+                    + "ON purchase_history FOR EACH ROW EXECUTE FUNCTION purchase_history_search_vector()",
+            // Renaming an asset re-indexes its purchases by touching a source column, which fires the trigger above
+            """
+            CREATE OR REPLACE FUNCTION asset_name_search_vector() RETURNS trigger AS $$
+            BEGIN
+                UPDATE purchase_history SET asset_id = asset_id WHERE asset_id = NEW.id;
+                RETURN NULL;
+            END
+            $$ LANGUAGE plpgsql
+            """,
+            "DROP TRIGGER IF EXISTS trg_asset_name_search_vector ON asset",
+            "CREATE TRIGGER trg_asset_name_search_vector AFTER UPDATE OF name ON asset "
+                    + "FOR EACH ROW WHEN (OLD.name IS DISTINCT FROM NEW.name) EXECUTE FUNCTION asset_name_search_vector()",
+            // Rows written before the trigger existed
+            "UPDATE purchase_history SET description = description WHERE search_vector IS NULL",
+            "CREATE INDEX IF NOT EXISTS idx_purchase_history_search ON purchase_history USING GIN (search_vector)"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SchemaIndexConfig(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void createIndexes() {
+        for (String statement : STATEMENTS) {
+            try {
+                jdbcTemplate.execute(statement);
+            } catch (DataAccessException e) {
+                logger.warn("Schema statement failed, continuing without it: {}", statement, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.Assets.Management.App.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class ValuationPoolConfig {
+
+    // Worker threads for valuation reports; 0 = one per available core
+    @Value("${valuation.parallelism:0}")
+    private int parallelism;
+
+    /**
+     * Dedicated, bounded pool for valuation reports, so they never run on (or starve) the common pool.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool valuationPool() {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        ForkJoinPool.ForkJoinWorkerThreadFactory factory = pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("valuation-" + thread.getPoolIndex());
+            return thread;
+        };
+        return new ForkJoinPool(threads, factory, null, false,
+                threads, threads, 1, null, 60, TimeUnit.SECONDS);
+    }
+}
@@ -13,17 +13,16 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
-import org.springframework.core.io.ByteArrayResource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.multipart.MultipartFile;
 import java.util.Map;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.security.core.Authentication;
-import java.io.IOException;
 
 @RestController
 @RequestMapping("/api/asset")
@@ -208,17 +207,15 @@ public ResponseEntity<?> updateAsset(
 
     @GetMapping("/assignment-history/export")
     @Operation(summary = "Export Asset Assignment History as Excel")
-    public ResponseEntity<ByteArrayResource> exportAssetAssignmentHistoryToExcel(
+    public ResponseEntity<StreamingResponseBody> exportAssetAssignmentHistoryToExcel(
             @RequestParam(required = false) Long assetId,
             @RequestParam(required = false) Long categoryId
-    ) throws IOException {
-        byte[] excelData = assetService.exportAssetAssignmentHistoryToExcel(assetId, categoryId);
-        ByteArrayResource resource = new ByteArrayResource(excelData);
+    ) {
+        StreamingResponseBody body = out -> assetService.exportAssetAssignmentHistoryToExcel(assetId, categoryId, out);
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=asset_assignment_history.xlsx")
                 .contentType(MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
-                .contentLength(resource.contentLength())
-                .body(resource);
+                .body(body);
     }
 
 
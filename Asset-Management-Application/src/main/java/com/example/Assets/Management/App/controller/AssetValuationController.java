@@ -1,14 +1,22 @@
 package com.example.Assets.Management.App.controller;
 
+import com.example.Assets.Management.App.Enums.ValuationStreamFormat;
+import com.example.Assets.Management.App.dto.responseDto.AssetDepreciationScheduleDTO;
 import com.example.Assets.Management.App.dto.responseDto.FinancialYearSummaryDTO;
+import com.example.Assets.Management.App.model.FinancialYear;
 import com.example.Assets.Management.App.service.AssetValuationService;
+import com.example.Assets.Management.App.service.AssetValuationStreamService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 @RestController
@@ -18,26 +26,49 @@ import java.util.List;
 public class AssetValuationController {
     
     private final AssetValuationService assetValuationService;
+    private final AssetValuationStreamService assetValuationStreamService;
     
-    public AssetValuationController(AssetValuationService assetValuationService) {
+    public AssetValuationController(AssetValuationService assetValuationService,
+                                    AssetValuationStreamService assetValuationStreamService) {
         this.assetValuationService = assetValuationService;
+        this.assetValuationStreamService = assetValuationStreamService;
     }
     
     @GetMapping("/financial-year/{financialYear}")
     @Operation(summary = "Get asset valuations for a specific financial year")
     public ResponseEntity<FinancialYearSummaryDTO> getAssetValuationsForFinancialYear(
             @Parameter(description = "Financial year in format YYYY-YY", example = "2023-24")
-            @PathVariable String financialYear) {
+            @PathVariable FinancialYear financialYear) {
         
         FinancialYearSummaryDTO summary = assetValuationService.getAssetValuationsForFinancialYear(financialYear);
         return ResponseEntity.ok(summary);
     }
     
+    @GetMapping("/financial-year/{financialYear}/stream")
+    @Operation(summary = "Stream asset valuations for a financial year as NDJSON or CSV, ending with a totals record")
+    public ResponseEntity<StreamingResponseBody> streamAssetValuationsForFinancialYear(
+            @Parameter(description = "Financial year in format YYYY-YY", example = "2023-24")
+            @PathVariable FinancialYear financialYear,
+            @Parameter(description = "NDJSON (one JSON object per line) or CSV")
+            @RequestParam(defaultValue = "NDJSON") ValuationStreamFormat format) {
+        
+        StreamingResponseBody body = out -> assetValuationStreamService.writeValuations(financialYear, format, out);
+        if (format == ValuationStreamFormat.CSV) {
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=asset_valuation_" + financialYear + ".csv")
+                    .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                    .body(body);
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+    
     @GetMapping("/financial-years")
     @Operation(summary = "Get asset valuations for multiple financial years")
     public ResponseEntity<List<FinancialYearSummaryDTO>> getAssetValuationsForFinancialYears(
             @Parameter(description = "List of financial years", example = "2022-23,2023-24,2024-25")
-            @RequestParam List<String> financialYears) {
+            @RequestParam List<FinancialYear> financialYears) {
         
         List<FinancialYearSummaryDTO> summaries = assetValuationService.getAssetValuationsForFinancialYears(financialYears);
         return ResponseEntity.ok(summaries);
@@ -47,11 +78,23 @@ public class AssetValuationController {
     @Operation(summary = "Get asset valuations for a range of financial years")
     public ResponseEntity<List<FinancialYearSummaryDTO>> getAssetValuationsForYearRange(
             @Parameter(description = "Start financial year", example = "2022-23")
-            @RequestParam String startYear,
+            @RequestParam FinancialYear startYear,
             @Parameter(description = "End financial year", example = "2024-25")
-            @RequestParam String endYear) {
+            @RequestParam FinancialYear endYear) {
         
         List<FinancialYearSummaryDTO> summaries = assetValuationService.getAssetValuationsForYearRange(startYear, endYear);
         return ResponseEntity.ok(summaries);
     }
+    
+    @GetMapping("/schedule")
+    @Operation(summary = "Get the year-by-year depreciation schedule of every asset over a range of financial years")
+    public ResponseEntity<List<AssetDepreciationScheduleDTO>> getDepreciationSchedule(
+            @Parameter(description = "Start financial year", example = "2022-23")
+            @RequestParam FinancialYear startYear,
+            @Parameter(description = "End financial year", example = "2031-32")
+            @RequestParam FinancialYear endYear) {
+        
+        List<AssetDepreciationScheduleDTO> schedule = assetValuationService.getDepreciationSchedule(startYear, endYear);
+        return ResponseEntity.ok(schedule);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,77 @@
+package com.example.Assets.Management.App.controller;
+
+import com.example.Assets.Management.App.Enums.BlobFolder;
+import com.example.Assets.Management.App.storage.LocalBlobStore;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serves files of the local blob store. Like Cloudinary URLs these are public; the content hash in the
+ * URL is what keeps them from being guessed. Stored files never change, so they are cached for good.
+ */
+@RestController
+@RequestMapping("/api/public/blobs")
+@ConditionalOnProperty(name = "storage.backend", havingValue = "local")
+@Tag(name = "public", description = "Public APIs")
+public class BlobController {
+
+    private final LocalBlobStore localBlobStore;
+
+    public BlobController(LocalBlobStore localBlobStore) {
+        this.localBlobStore = localBlobStore;
+    }
+
+    @GetMapping("/{folder}/{shard}/{name}")
+    @Operation(summary = "Download a stored asset image or bill")
+    public ResponseEntity<StreamingResponseBody> getBlob(
+            @PathVariable String folder,
+            @PathVariable String shard,
+            @PathVariable String name,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) throws IOException {
+        BlobFolder blobFolder = Arrays.stream(BlobFolder.values())
+                .filter(candidate -> candidate.getDirectory().equals(folder))
+                .findFirst()
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "File not found"));
+        Path file = localBlobStore.find(blobFolder, shard + "/" + name);
+        if (file == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "File not found");
+        }
+
+        // The file name is the content hash, so it doubles as a strong ETag
+        int dot = name.indexOf('.');
+        String etag = "\"" + (dot >= 0 ? name.substring(0, dot) : name) + "\"";
+        CacheControl cacheControl = CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable();
+        if (etag.equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+        }
+
+        long size = Files.size(file);
+        StreamingResponseBody body = FileRegionBody.of(file, 0, size);
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .contentType(MediaTypeFactory.getMediaType(name).orElse(MediaType.APPLICATION_OCTET_STREAM))
+                .contentLength(size)
+                .body(body);
+    }
+}
@@ -1,15 +1,24 @@
 package com.example.Assets.Management.App.controller;
 
 import com.example.Assets.Management.App.dto.responseDto.AssetResponseDTO;
+import com.example.Assets.Management.App.dto.responseDto.DashboardRollupDTO;
+import com.example.Assets.Management.App.dto.responseDto.KeysetPageResponse;
+import com.example.Assets.Management.App.service.DashboardRollupService;
 import com.example.Assets.Management.App.service.DashboardService;
-import com.example.Assets.Management.App.dto.responseDto.PurchaseHistoryResponseDTO;
+import com.example.Assets.Management.App.service.DashboardStreamService;
+import com.example.Assets.Management.App.dto.responseDto.ExpiringPurchaseDTO;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import io.swagger.v3.oas.annotations.Operation;
 
+import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -20,6 +29,12 @@ public class DashboardController {
     
     @Autowired
     private DashboardService dashboardService;
+
+    @Autowired
+    private DashboardStreamService dashboardStreamService;
+
+    @Autowired
+    private DashboardRollupService dashboardRollupService;
     
     @Operation(summary = "Get dashboard statistics")
     @GetMapping("/stats")
@@ -35,34 +50,50 @@ public class DashboardController {
         }
     }
 
+    @Operation(summary = "Stream live dashboard statistics",
+               description = "Server-Sent Events: a 'snapshot' event with every count, then a 'delta' event with the changed counts whenever assets or purchases change")
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamDashboardStats() {
+        return dashboardStreamService.subscribe();
+    }
+
     // New endpoints for DashboardService methods
-    @Operation(summary = "Get all assets for dashboard")
+    @Operation(summary = "Get a page of assets for dashboard",
+               description = "Keyset pagination in id order: pass the previous page's nextCursor as cursor")
     @GetMapping("/assets")
-    public ResponseEntity<List<AssetResponseDTO>> getAllAssets() {
-        return ResponseEntity.ok(dashboardService.getAllAssets());
+    public ResponseEntity<KeysetPageResponse<AssetResponseDTO>> getAllAssets(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(dashboardService.getAllAssets(cursor, limit));
     }
 
-    @Operation(summary = "Get all assigned assets for dashboard")
+    @Operation(summary = "Get a page of assigned assets for dashboard",
+               description = "Keyset pagination in id order: pass the previous page's nextCursor as cursor")
     @GetMapping("/assets/assigned")
-    public ResponseEntity<List<AssetResponseDTO>> getAssignedAssets() {
-        return ResponseEntity.ok(dashboardService.getAssignedAssets());
+    public ResponseEntity<KeysetPageResponse<AssetResponseDTO>> getAssignedAssets(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(dashboardService.getAssignedAssets(cursor, limit));
     }
 
-    @Operation(summary = "Get all non-assigned assets for dashboard")
+    @Operation(summary = "Get a page of non-assigned assets for dashboard",
+               description = "Keyset pagination in id order: pass the previous page's nextCursor as cursor")
     @GetMapping("/assets/non-assigned")
-    public ResponseEntity<List<AssetResponseDTO>> getNonAssignedAssets() {
-        return ResponseEntity.ok(dashboardService.getNonAssignedAssets());
+    public ResponseEntity<KeysetPageResponse<AssetResponseDTO>> getNonAssignedAssets(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(dashboardService.getNonAssignedAssets(cursor, limit));
     }
 
     @Operation(summary = "Get expiring soon purchase histories for dashboard")
     @GetMapping("/expiring-soon")
-    public ResponseEntity<List<PurchaseHistoryResponseDTO>> getExpiringSoon() {
+    public ResponseEntity<List<ExpiringPurchaseDTO>> getExpiringSoon() {
         return ResponseEntity.ok(dashboardService.getExpiringSoon());
     }
 
     @Operation(summary = "Get expired purchase histories for dashboard")
     @GetMapping("/expired")
-    public ResponseEntity<List<PurchaseHistoryResponseDTO>> getExpired() {
+    public ResponseEntity<List<ExpiringPurchaseDTO>> getExpired() {
         return ResponseEntity.ok(dashboardService.getExpired());
     }
 
@@ -83,4 +114,14 @@ public class DashboardController {
     public ResponseEntity<List<Map<String, Object>>> getCategoryWiseAssets() {
         return ResponseEntity.ok(dashboardService.getCategoryWiseAssets());
     }
+
+    @Operation(summary = "Get daily dashboard trends",
+               description = "Daily per-category asset counts by status and purchase/current value totals between two dates (inclusive)")
+    @GetMapping("/trends")
+    public ResponseEntity<List<DashboardRollupDTO>> getTrends(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long categoryId) {
+        return ResponseEntity.ok(dashboardRollupService.getRollups(from, to, categoryId));
+    }
 }
@@ -4,6 +4,7 @@ import com.example.Assets.Management.App.dto.requestDto.DepreciationRateRequestD
 import com.example.Assets.Management.App.dto.responseDto.ApiResponse;
 import com.example.Assets.Management.App.dto.responseDto.DepreciationRateResponseDTO;
 import com.example.Assets.Management.App.dto.responseDto.PaginatedResponse;
+import com.example.Assets.Management.App.model.FinancialYear;
 import com.example.Assets.Management.App.service.DepreciationRateService;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
@@ -34,7 +35,7 @@ public class DepreciationRateController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int limit,
             @RequestParam(required = false) Long categoryId,
-            @RequestParam(required = false) String financialYear
+            @RequestParam(required = false) FinancialYear financialYear
     ) {
         PaginatedResponse<DepreciationRateResponseDTO> paginated = depreciationRateService.getPaginated(page, limit, categoryId, financialYear);
         ApiResponse<PaginatedResponse<DepreciationRateResponseDTO>> response = new ApiResponse<>(true, "Fetched successfully", paginated);
@@ -0,0 +1,138 @@
+package com.example.Assets.Management.App.controller;
+
+import com.example.Assets.Management.App.dto.requestDto.ExportJobRequestDTO;
+import com.example.Assets.Management.App.dto.responseDto.ExportJobDTO;
+import com.example.Assets.Management.App.service.ExportFile;
+import com.example.Assets.Management.App.service.ExportJobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@RestController
+@RequestMapping("/api/export-jobs")
+@Tag(name = "Export Jobs", description = "Background export APIs")
+@SecurityRequirement(name = "bearerAuth")
+public class ExportJobController {
+
+    // first-pos "-" last-pos, either of which may be missing (but not both)
+    private static final Pattern RANGE_SPEC = Pattern.compile("(\\d*)-(\\d*)");
+
+    private final ExportJobService exportJobService;
+
+    public ExportJobController(ExportJobService exportJobService) {
+        this.exportJobService = exportJobService;
+    }
+
+    @PostMapping
+    @Operation(summary = "Start a background export",
+               description = "PURCHASE_HISTORY (assetId optional), ASSIGNMENT_HISTORY (assetId, categoryId optional) "
+                       + "or VALUATION (financialYear required, format CSV or NDJSON). Poll the returned job until it is COMPLETED, then download it.")
+    public ResponseEntity<ExportJobDTO> createExportJob(@RequestBody ExportJobRequestDTO request, Authentication authentication) {
+        ExportJobDTO job = exportJobService.submit(request, authentication.getName());
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .header(HttpHeaders.LOCATION, "/api/export-jobs/" + job.getId())
+                .body(job);
+    }
+
+    @GetMapping
+    @Operation(summary = "List export jobs")
+    public ResponseEntity<List<ExportJobDTO>> getExportJobs(Authentication authentication) {
+        return ResponseEntity.ok(exportJobService.getJobs(authentication.getName(), isAdmin(authentication)));
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get the status of an export job")
+    public ResponseEntity<ExportJobDTO> getExportJob(@PathVariable String id, Authentication authentication) {
+        return ResponseEntity.ok(exportJobService.getJob(id, authentication.getName(), isAdmin(authentication)));
+    }
+
+    @GetMapping("/{id}/download")
+    @Operation(summary = "Download a finished export", description = "Supports a single HTTP Range (bytes=start-end) for resuming")
+    public ResponseEntity<StreamingResponseBody> downloadExport(
+            @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+            Authentication authentication) {
+        ExportFile file = exportJobService.getFile(id, authentication.getName(), isAdmin(authentication));
+        long size = file.size();
+
+        ResponseEntity.BodyBuilder response;
+        long start = 0;
+        long end = size - 1;
+        long[] requested = parseRange(range, size);
+        if (requested == null) {
+            response = ResponseEntity.ok();
+        } else if (requested.length == 0) {
+            return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                    .header(HttpHeaders.CONTENT_RANGE, "bytes */" + size)
+                    .build();
+        } else {
+            start = requested[0];
+            end = requested[1];
+            response = ResponseEntity.status(HttpStatus.PARTIAL_CONTENT)
+                    .header(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+        }
+
+        long count = end - start + 1;
+        StreamingResponseBody body = FileRegionBody.of(file.path(), start, count);
+        return response
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(file.fileName()).build().toString())
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .contentType(MediaType.parseMediaType(file.contentType()))
+                .contentLength(count)
+                .body(body);
+    }
+
+    /**
+     * Parse a single "bytes=" range: null to send the whole file (no, unsupported or invalid Range header),
+     * an empty array if the range is unsatisfiable, otherwise {start, end} (inclusive).
+     * Multi-range requests are answered with the whole file, and invalid ranges (e.g. "bytes=--5" or an end
+     * before the start) are ignored rather than refused, as RFC 9110 allows.
+     */
+    static long[] parseRange(String header, long size) {
+        if (header == null || !header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+            return null;
+        }
+        Matcher spec = RANGE_SPEC.matcher(header.substring("bytes=".length()).trim());
+        if (!spec.matches() || (spec.group(1).isEmpty() && spec.group(2).isEmpty())) {
+            return null;
+        }
+        try {
+            if (spec.group(1).isEmpty()) {
+                // Suffix range: the last n bytes
+                long suffix = Long.parseLong(spec.group(2));
+                if (suffix == 0 || size == 0) {
+                    return new long[0];
+                }
+                return new long[] {Math.max(0, size - suffix), size - 1};
+            }
+            long start = Long.parseLong(spec.group(1));
+            long last = spec.group(2).isEmpty() ? Long.MAX_VALUE : Long.parseLong(spec.group(2));
+            if (last < start) {
+                return null;
+            }
+            if (start >= size) {
+                return new long[0];
+            }
+            return new long[] {start, Math.min(last, size - 1)};
+        } catch (NumberFormatException e) {
+            return null; // too many digits for a long
+        }
+    }
+
+    private static boolean isAdmin(Authentication authentication) {
+        return authentication.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+    }
+}
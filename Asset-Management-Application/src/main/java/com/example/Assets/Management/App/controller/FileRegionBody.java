@@ -0,0 +1,37 @@
+package com.example.Assets.Management.App.controller;
+
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Response body that streams a byte range of a local file with FileChannel.transferTo.
+ * The target is the servlet output stream, not a file descriptor, so the JDK still copies through a
+ * temporary buffer; what this saves over reading the whole file is memory, not copies.
+ */
+final class FileRegionBody {
+
+    private FileRegionBody() {
+    }
+
+    static StreamingResponseBody of(Path file, long position, long count) {
+        return out -> {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                WritableByteChannel target = Channels.newChannel(out);
+                long sent = 0;
+                while (sent < count) {
+                    long n = channel.transferTo(position + sent, count - sent, target);
+                    if (n <= 0) {
+                        break; // file shorter than expected
+                    }
+                    sent += n;
+                }
+            }
+            out.flush();
+        };
+    }
+}
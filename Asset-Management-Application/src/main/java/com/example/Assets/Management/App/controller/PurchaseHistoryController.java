@@ -3,26 +3,28 @@ package com.example.Assets.Management.App.controller;
 import com.example.Assets.Management.App.dto.requestDto.PurchaseHistoryRequestDTO;
 import com.example.Assets.Management.App.dto.responseDto.PurchaseHistoryResponseDTO;
 import com.example.Assets.Management.App.dto.responseDto.PurchaseHistoryPageResponse;
+import com.example.Assets.Management.App.dto.responseDto.PurchaseHistoryCursorPageResponse;
+import com.example.Assets.Management.App.dto.responseDto.PurchaseImportResultDTO;
 import com.example.Assets.Management.App.model.Users;
 import com.example.Assets.Management.App.repository.UserRepository;
 import com.example.Assets.Management.App.service.PurchaseHistoryService;
+import com.example.Assets.Management.App.service.PurchaseImportService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
-import org.springframework.core.io.ByteArrayResource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
-import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -31,11 +33,14 @@ import java.util.List;
 @SecurityRequirement(name = "bearerAuth")
 public class PurchaseHistoryController {
     private final PurchaseHistoryService service;
+    private final PurchaseImportService importService;
     private final UserRepository userRepository;
     private final ObjectMapper objectMapper;
 
-    public PurchaseHistoryController(PurchaseHistoryService service, UserRepository userRepository,ObjectMapper objectMapper) {
+    public PurchaseHistoryController(PurchaseHistoryService service, PurchaseImportService importService,
+                                     UserRepository userRepository, ObjectMapper objectMapper) {
         this.service = service;
+        this.importService = importService;
         this.userRepository = userRepository;
         this.objectMapper = objectMapper;
     }
@@ -63,6 +68,45 @@ public class PurchaseHistoryController {
         }
     }    
 
+    @GetMapping("/cursor")
+    @Operation(summary = "Get Purchase History by cursor",
+               description = "Keyset pagination ordered by purchase date then id; pass the previous page's nextCursor as cursor")
+    public PurchaseHistoryCursorPageResponse getPurchaseHistoriesByCursor(
+        @Parameter(description = "nextCursor of the previous page; omit for the first page")
+        @RequestParam(required = false) String cursor,
+
+        @Parameter(description = "Number of items per page (at most 200)", example = "10")
+        @RequestParam(defaultValue = "10") int limit,
+
+        @Parameter(description = "Sort direction on purchase date: asc or desc", example = "desc")
+        @RequestParam(defaultValue = "desc") String direction,
+
+        @Parameter(description = "Also count every matching purchase (runs a COUNT query)")
+        @RequestParam(defaultValue = "false") boolean includeTotal,
+
+        @Parameter(description = "Optional asset ID to filter by")
+        @RequestParam(required = false) Long assetId
+    ) {
+        return service.getPageByCursor(assetId, cursor, limit, direction.equalsIgnoreCase("asc"), includeTotal);
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search Purchase History",
+               description = "Full-text search over invoice number, vendor, description and asset name, best matches first. "
+                       + "Accepts web-search syntax: quoted phrases, OR, and -word to exclude")
+    public PurchaseHistoryPageResponse searchPurchaseHistories(
+        @Parameter(description = "Search text", example = "dell laptop")
+        @RequestParam String q,
+
+        @Parameter(description = "Page number (0-based)", example = "0")
+        @RequestParam(defaultValue = "0") int page,
+
+        @Parameter(description = "Number of items per page (at most 200)", example = "10")
+        @RequestParam(defaultValue = "10") int size
+    ) {
+        return service.search(q, page, size);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get Purchase History by ID")
     public PurchaseHistoryResponseDTO getById(
@@ -93,6 +137,20 @@ public class PurchaseHistoryController {
         }
     }
 
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Bulk import Purchase History from CSV or XLSX",
+               description = "Header row with assetId (or assetName and category; missing assets are created), purchaseDate, amount, "
+                       + "vendor, invoiceNumber, warrantyPeriod, qty and optional expiryDate, notify, description. "
+                       + "All or nothing: if any row is invalid nothing is saved and the errors are returned.")
+    public ResponseEntity<PurchaseImportResultDTO> importPurchaseHistory(
+            @RequestPart("file") MultipartFile file,
+            Authentication authentication) {
+        Users u = userRepository.findByEmail(authentication.getName())
+            .orElseThrow(() -> new RuntimeException("User not found"));
+        PurchaseImportResultDTO result = importService.importPurchases(file, u);
+        return result.isImported() ? ResponseEntity.ok(result) : ResponseEntity.badRequest().body(result);
+    }
+
     @PutMapping(value = "/{id}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     @Operation(summary = "Update Purchase History")
     public ResponseEntity<?> update(
@@ -124,17 +182,15 @@ public class PurchaseHistoryController {
 
     @GetMapping("/export")
     @Operation(summary = "Export Purchase History as Excel")
-    public ResponseEntity<ByteArrayResource> exportPurchaseHistoryToExcel(
+    public ResponseEntity<StreamingResponseBody> exportPurchaseHistoryToExcel(
             @RequestParam(required = false) Long assetId,
             @RequestParam(required = false) String year
-    ) throws IOException {
-        byte[] excelData = service.exportPurchaseHistoryToExcel(assetId);
-        ByteArrayResource resource = new ByteArrayResource(excelData);
+    ) {
+        StreamingResponseBody body = out -> service.exportPurchaseHistoryToExcel(assetId, out);
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=purchase_history.xlsx")
                 .contentType(MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
-                .contentLength(resource.contentLength())
-                .body(resource);
+                .body(body);
     }
 
     @GetMapping("/asset/{id}")
@@ -2,16 +2,22 @@ package com.example.Assets.Management.App.dto.mapper;
 
 import com.example.Assets.Management.App.dto.PurchaseHistoryDTO;
 import com.example.Assets.Management.App.dto.requestDto.PurchaseHistoryRequestDTO;
-import com.example.Assets.Management.App.dto.responseDto.DepreciationRateResponseDTO;
 import com.example.Assets.Management.App.dto.responseDto.PurchaseHistoryResponseDTO;
 import com.example.Assets.Management.App.model.PurchaseHistory;
-import com.example.Assets.Management.App.repository.DepreciationRateRepository;
 import com.example.Assets.Management.App.service.DepreciationService;
-import com.example.Assets.Management.App.service.DepreciationRateService;
 import com.example.Assets.Management.App.model.Asset;
 import com.example.Assets.Management.App.Enums.AssetStatus;
 
+import com.example.Assets.Management.App.model.ValuationSnapshot;
+import com.example.Assets.Management.App.service.ValuationContext;
+import com.example.Assets.Management.App.service.ValuationSnapshotService;
+
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -21,11 +27,9 @@ import org.springframework.stereotype.Component;
 public class PurchaseHistoryMapper {
     @Autowired
     private DepreciationService depreciationService;
-    @Autowired
-    private DepreciationRateService depreciationRateService;
 
     @Autowired
-    private DepreciationRateRepository depreciationRateRepository;
+    private ValuationSnapshotService valuationSnapshotService;
 
     // Convert Entity to regular DTO
     public PurchaseHistoryDTO toDTO(PurchaseHistory entity) {
@@ -44,8 +48,10 @@ public class PurchaseHistoryMapper {
 
         dto.setWarrantyPeriod(entity.getWarrantyPeriod());
         dto.setDescription(entity.getDescription());    
-        dto.setCurrentValue(roundToTwo(depreciationService.getCurrentValue(entity.getPurchasePrice(), entity.getPurchaseDate(), entity.getAsset().getCategory().getId(), LocalDate.now())));
-        dto.setTotalDepreciation(roundToTwo(depreciationService.calculateDepreciation(entity.getPurchasePrice(), entity.getPurchaseDate(), entity.getAsset().getCategory().getId(), LocalDate.now())));
+        double depreciation = depreciationService.newValuationContext(LocalDate.now())
+                .depreciation(entity.getPurchasePrice(), entity.getPurchaseDate(), categoryId(entity));
+        dto.setCurrentValue(roundToTwo(entity.getPurchasePrice() - depreciation));
+        dto.setTotalDepreciation(roundToTwo(depreciation));
         return dto;
     }
     
@@ -85,9 +91,62 @@ public class PurchaseHistoryMapper {
     
     // Convert Entity to ResponseDTO
     public PurchaseHistoryResponseDTO toResponseDTO(PurchaseHistory entity) {
+        return toResponseDTO(entity, depreciationService.newValuationContext(LocalDate.now()));
+    }
+
+    // Convert Entity to ResponseDTO within a caller's valuation context: today's snapshot if present, otherwise one valuation
+    public PurchaseHistoryResponseDTO toResponseDTO(PurchaseHistory entity, ValuationContext valuation) {
         if (entity == null) return null;
-        double currentValue = 0;
-        double totalDepreciation = 0;
+        if (isWrittenOff(entity)) {
+            return buildResponseDTO(entity, 0, 0);
+        }
+        Optional<ValuationSnapshot> snapshot = valuationSnapshotService.findCurrent(entity.getId());
+        if (snapshot.isPresent()) {
+            return buildResponseDTO(entity, snapshot.get().getCurrentValue(), snapshot.get().getAccumulatedDepreciation());
+        }
+        return valued(entity, valuation);
+    }
+
+    // Convert a page/list of entities to ResponseDTOs
+    public List<PurchaseHistoryResponseDTO> toResponseDTOs(List<PurchaseHistory> entities) {
+        return toResponseDTOs(entities, depreciationService.newValuationContext(LocalDate.now()));
+    }
+
+    // Today's snapshots are read in one query; rows without one are valued once each in the shared context
+    public List<PurchaseHistoryResponseDTO> toResponseDTOs(List<PurchaseHistory> entities, ValuationContext valuation) {
+        Map<Long, ValuationSnapshot> snapshots = valuationSnapshotService.findCurrent(
+            entities.stream().map(PurchaseHistory::getId).collect(Collectors.toList()));
+
+        List<PurchaseHistoryResponseDTO> dtos = new ArrayList<>(entities.size());
+        for (PurchaseHistory entity : entities) {
+            ValuationSnapshot snapshot = snapshots.get(entity.getId());
+            if (isWrittenOff(entity)) {
+                dtos.add(buildResponseDTO(entity, 0, 0));
+            } else if (snapshot != null) {
+                dtos.add(buildResponseDTO(entity, snapshot.getCurrentValue(), snapshot.getAccumulatedDepreciation()));
+            } else {
+                dtos.add(valued(entity, valuation));
+            }
+        }
+        return dtos;
+    }
+
+    private PurchaseHistoryResponseDTO valued(PurchaseHistory entity, ValuationContext valuation) {
+        double depreciation = valuation.depreciation(entity.getPurchasePrice(), entity.getPurchaseDate(), categoryId(entity));
+        return buildResponseDTO(entity, entity.getPurchasePrice() - depreciation, depreciation);
+    }
+
+    private static Long categoryId(PurchaseHistory entity) {
+        return entity.getAsset().getCategory() != null ? entity.getAsset().getCategory().getId() : null;
+    }
+
+    private boolean isWrittenOff(PurchaseHistory entity) {
+        AssetStatus status = entity.getAsset().getStatus();
+        return (status == AssetStatus.STOLEN && entity.getStolenValue() != null)
+            || (status == AssetStatus.DISPOSED && entity.getDisposedValue() != null);
+    }
+
+    private PurchaseHistoryResponseDTO buildResponseDTO(PurchaseHistory entity, double currentValue, double totalDepreciation) {
         Asset asset = entity.getAsset();
 
         // Check for stolen/disposed status
@@ -97,29 +156,6 @@ public class PurchaseHistoryMapper {
         } else if (asset.getStatus() == AssetStatus.DISPOSED && entity.getDisposedValue() != null) {
             currentValue = 0;
             totalDepreciation = entity.getPurchasePrice() - entity.getDisposedValue();
-        } else {
-            try {
-                DepreciationRateResponseDTO depreciationRate = depreciationRateService.getByCategoryIdAndFinancialYear(
-                    asset.getCategory().getId(),
-                    depreciationService.getFinancialYear(entity.getPurchaseDate())
-                );
-                currentValue = depreciationService.getCurrentValue(
-                    entity.getPurchasePrice(),
-                    entity.getPurchaseDate(),
-                    asset.getCategory().getId(),
-                    LocalDate.now()
-                );
-                totalDepreciation = depreciationService.calculateDepreciation(
-                    entity.getPurchasePrice(),
-                    entity.getPurchaseDate(),
-                    asset.getCategory().getId(),
-                    LocalDate.now()
-                );
-            } catch (Exception e) {
-                currentValue = 0;
-                totalDepreciation = 0;
-                e.printStackTrace();
-            }
         }
 
         return PurchaseHistoryResponseDTO.builder()
@@ -133,6 +169,7 @@ public class PurchaseHistoryMapper {
                 .warrantyPeriod(entity.getWarrantyPeriod())
                 .qty(entity.getQty())
                 .billUrl(entity.getBillUrl())
+                .billStatus(entity.getBillStatus())
                 .currentValue(roundToTwo(currentValue))
                 .totalDepreciation(roundToTwo(totalDepreciation))
                 .expiryDate(entity.getExpiryDate())
@@ -140,6 +177,7 @@ public class PurchaseHistoryMapper {
                 .vendor(entity.getVendorName())
                 .build();
     }
+
     public double roundToTwo(double value) {
         return Math.round(value * 100.0) / 100.0;
     }
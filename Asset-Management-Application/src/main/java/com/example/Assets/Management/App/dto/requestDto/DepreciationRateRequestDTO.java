@@ -14,7 +14,7 @@ public class DepreciationRateRequestDTO {
     private String assetType; // Optional, for specific asset types
     
     @NotBlank(message = "Financial year is required")
-    @Pattern(regexp = "\\d{4}-\\d{2}", message = "Financial year must be in format YYYY-YY")
+    @Pattern(regexp = "\\d{4}(-\\d{2})?", message = "Financial year must be in format YYYY-YY or YYYY")
     private String financialYear;
     
     @NotNull(message = "Depreciation percentage is required")
@@ -0,0 +1,18 @@
+package com.example.Assets.Management.App.dto.requestDto;
+
+import com.example.Assets.Management.App.Enums.ExportJobType;
+import com.example.Assets.Management.App.Enums.ValuationStreamFormat;
+import lombok.Data;
+
+@Data
+public class ExportJobRequestDTO {
+    private ExportJobType type;
+
+    // Purchase history and assignment history filters
+    private Long assetId;
+    private Long categoryId; // assignment history only
+
+    // Valuation only
+    private String financialYear; // YYYY-YY
+    private ValuationStreamFormat format; // defaults to CSV
+}
@@ -0,0 +1,20 @@
+package com.example.Assets.Management.App.dto.responseDto;
+
+import lombok.Data;
+import java.time.LocalDate;
+import java.util.List;
+
+import com.example.Assets.Management.App.Enums.DepreciationMethod;
+
+@Data
+public class AssetDepreciationScheduleDTO {
+    private Long assetId;
+    private String assetName;
+    private String categoryName;
+    private LocalDate purchaseDate;
+    private String purchaseFinancialYear;
+    private Double purchasePrice;
+    private DepreciationMethod depreciationMethod;
+    private Double depreciationRate;
+    private List<FinancialYearDepreciationDTO> years;
+}
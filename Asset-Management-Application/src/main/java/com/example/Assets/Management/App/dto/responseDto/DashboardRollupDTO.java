@@ -0,0 +1,21 @@
+package com.example.Assets.Management.App.dto.responseDto;
+
+import com.example.Assets.Management.App.Enums.AssetStatus;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * One day of one category in the dashboard trend series.
+ */
+@Data
+public class DashboardRollupDTO {
+    private LocalDate date;
+    private Long categoryId;
+    private String categoryName;
+    private long totalAssets;
+    private Map<AssetStatus, Long> statusWise;
+    private Double totalPurchaseValue;
+    private Double totalCurrentValue;
+}
@@ -0,0 +1,24 @@
+package com.example.Assets.Management.App.dto.responseDto;
+
+import com.example.Assets.Management.App.Enums.AssetStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+import java.util.Map;
+
+/**
+ * Payload of the live dashboard stream. A "snapshot" event carries every count; a "delta" event
+ * carries only the counts that changed, each with its new value (0 once a bucket empties).
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DashboardStatsEventDTO {
+    private Long totalAssets;
+    private Long assignedAssets;
+    private Long nonAssignedAssets;
+    private Long expiringSoonCount;
+    private Long expiredAssets;
+    private Map<String, Long> categoryWise;
+    private Map<AssetStatus, Long> statusWise;
+    private Map<String, Map<AssetStatus, Long>> categoryStatusWise;
+}
@@ -0,0 +1,29 @@
+package com.example.Assets.Management.App.dto.responseDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Row of the dashboard expiring-soon and expired lists; purchase fields keep the names
+ * used in PurchaseHistoryResponseDTO.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ExpiringPurchaseDTO {
+    private Long id;
+    private Long assetId;
+    private String assetName;
+    private String categoryName;
+    private LocalDate purchaseDate;
+    private LocalDate expiryDate;
+    private Integer warrantyPeriod;
+    private String invoiceNumber;
+    private String vendor;
+    private String assignedToUserName;
+}
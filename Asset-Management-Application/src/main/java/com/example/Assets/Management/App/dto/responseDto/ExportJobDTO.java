@@ -0,0 +1,24 @@
+package com.example.Assets.Management.App.dto.responseDto;
+
+import com.example.Assets.Management.App.Enums.ExportJobStatus;
+import com.example.Assets.Management.App.Enums.ExportJobType;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ExportJobDTO {
+    private String id;
+    private ExportJobType type;
+    private ExportJobStatus status;
+    private String requestedBy;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String fileName;
+    private Long sizeBytes;
+    private String error;
+    private String downloadUrl; // set once the file is ready
+}
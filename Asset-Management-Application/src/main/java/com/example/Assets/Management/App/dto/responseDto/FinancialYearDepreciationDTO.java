@@ -0,0 +1,11 @@
+package com.example.Assets.Management.App.dto.responseDto;
+
+import lombok.Data;
+
+@Data
+public class FinancialYearDepreciationDTO {
+    private String financialYear;
+    private Double openingValue;
+    private Double depreciation;
+    private Double closingValue;
+}
@@ -0,0 +1,17 @@
+package com.example.Assets.Management.App.dto.responseDto;
+
+import lombok.Data;
+
+/**
+ * Trailer record of a streamed financial-year valuation: running totals over every row written.
+ */
+@Data
+public class FinancialYearTotalsDTO {
+    private String recordType = "TOTALS";
+    private String financialYear;
+    private Long assetCount;
+    private Double totalPurchaseValue;
+    private Double totalCurrentValue;
+    private Double totalDepreciation;
+    private Double totalDepreciationThisYear;
+}
@@ -0,0 +1,21 @@
+package com.example.Assets.Management.App.dto.responseDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated list. Pass nextCursor back as the cursor parameter
+ * to get the following page; it is null on the last page.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class KeysetPageResponse<T> {
+    private List<T> data;
+    private int limit;
+    private boolean hasMore;
+    private String nextCursor;
+}
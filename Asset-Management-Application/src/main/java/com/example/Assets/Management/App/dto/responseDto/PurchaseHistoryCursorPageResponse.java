@@ -0,0 +1,27 @@
+package com.example.Assets.Management.App.dto.responseDto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One keyset page of purchase history. Pass nextCursor back as cursor for the following page;
+ * it is null on the last page. totalElements is only filled in when the caller asks for it.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PurchaseHistoryCursorPageResponse {
+    private List<PurchaseHistoryResponseDTO> content;
+    private int limit;
+    private boolean hasMore;
+    private String nextCursor;
+    private Long totalElements;
+    // Current value of every purchase the listing covers, from the valuation snapshot
+    private Double totalCurrentValue;
+    // Current value of the purchases on this page
+    private Double pageCurrentValue;
+}
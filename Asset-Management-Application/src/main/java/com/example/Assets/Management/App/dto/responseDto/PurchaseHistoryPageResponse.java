@@ -16,5 +16,8 @@ public class PurchaseHistoryPageResponse {
     private int pageSize;
     private long totalElements;
     private int totalPages;
+    // Current value of every purchase the listing covers (all purchases, or all of the asset's), from the valuation snapshot
     private Double totalCurrentValue;
+    // Current value of the purchases on this page
+    private Double pageCurrentValue;
 } 
\ No newline at end of file
@@ -1,5 +1,7 @@
 package com.example.Assets.Management.App.dto.responseDto;
 
+import com.example.Assets.Management.App.Enums.BillStatus;
+
 import java.time.LocalDate;
 
 import lombok.AllArgsConstructor;
@@ -22,6 +24,7 @@ public class PurchaseHistoryResponseDTO {
     private Integer qty;
     private String description;
     private String billUrl;
+    private BillStatus billStatus;
     private String notify;
     private Double amount;
     private Double currentValue;
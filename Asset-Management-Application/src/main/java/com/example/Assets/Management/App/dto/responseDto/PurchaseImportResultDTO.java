@@ -0,0 +1,25 @@
+package com.example.Assets.Management.App.dto.responseDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk purchase import. An import is all or nothing: if any row is invalid nothing is saved,
+ * and errors lists the first problems found (errorCount has the full number).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PurchaseImportResultDTO {
+    private boolean imported;
+    private int rowsRead;
+    private int purchasesImported;
+    private int assetsCreated;
+    private int errorCount;
+    private List<String> errors;
+}
@@ -0,0 +1,27 @@
+package com.example.Assets.Management.App.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published by AssetService after an asset is created, updated, assigned, returned or deleted.
+ * before is null for CREATED and after is null for DELETED.
+ */
+@Getter
+@AllArgsConstructor
+public class AssetChangedEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        STATUS_CHANGED,
+        ASSIGNED,
+        RETURNED,
+        DELETED
+    }
+
+    private final Long assetId;
+    private final Type type;
+    private final AssetState before;
+    private final AssetState after;
+}
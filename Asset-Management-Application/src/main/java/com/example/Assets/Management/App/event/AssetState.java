@@ -0,0 +1,27 @@
+package com.example.Assets.Management.App.event;
+
+import com.example.Assets.Management.App.Enums.AssetStatus;
+import com.example.Assets.Management.App.model.Asset;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * The parts of an asset the dashboard counts by, captured before or after a change.
+ * categoryId and categoryName are null for an uncategorised asset.
+ */
+@Getter
+@AllArgsConstructor
+public class AssetState {
+    private final Long categoryId;
+    private final String categoryName;
+    private final AssetStatus status;
+    private final boolean assigned;
+
+    public static AssetState of(Asset asset) {
+        return new AssetState(
+                asset.getCategory() != null ? asset.getCategory().getId() : null,
+                asset.getCategory() != null ? asset.getCategory().getName() : null,
+                asset.getStatus(),
+                asset.getAssignedToUser() != null);
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.Assets.Management.App.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Set;
+
+/**
+ * Published by DepreciationRateService after a rate is created, updated or deleted.
+ * categoryIds holds every category whose rate timeline changed.
+ */
+@Getter
+@AllArgsConstructor
+public class DepreciationRateChangedEvent {
+    private final Set<Long> categoryIds;
+}
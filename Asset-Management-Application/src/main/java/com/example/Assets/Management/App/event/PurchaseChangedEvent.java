@@ -0,0 +1,25 @@
+package com.example.Assets.Management.App.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published after a purchase history record is added, updated or removed
+ * (removals include the purchases cascaded away with a deleted asset).
+ * before is null for ADDED and after is null for REMOVED.
+ */
+@Getter
+@AllArgsConstructor
+public class PurchaseChangedEvent {
+
+    public enum Type {
+        ADDED,
+        UPDATED,
+        REMOVED
+    }
+
+    private final Long purchaseId;
+    private final Type type;
+    private final PurchaseState before;
+    private final PurchaseState after;
+}
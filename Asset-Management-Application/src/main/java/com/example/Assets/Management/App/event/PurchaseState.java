@@ -0,0 +1,25 @@
+package com.example.Assets.Management.App.event;
+
+import com.example.Assets.Management.App.model.PurchaseHistory;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+/**
+ * The parts of a purchase the dashboard counts by, captured before or after a change.
+ */
+@Getter
+@AllArgsConstructor
+public class PurchaseState {
+    private final Long assetId;
+    private final LocalDate expiryDate;
+    private final boolean notify;
+
+    public static PurchaseState of(PurchaseHistory purchase) {
+        return new PurchaseState(
+                purchase.getAsset() != null ? purchase.getAsset().getId() : null,
+                purchase.getExpiryDate(),
+                "Yes".equalsIgnoreCase(purchase.getNotify()));
+    }
+}
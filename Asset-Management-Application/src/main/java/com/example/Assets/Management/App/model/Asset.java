@@ -15,6 +15,10 @@ import java.util.*;
 @NoArgsConstructor
 @AllArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE)
+@Table(indexes = {
+    // Keyset pages of assigned / non-assigned assets in id order
+    @Index(name = "idx_asset_assigned_user_id", columnList = "assigned_to_user_id, id")
+})
 public class Asset {
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
     Long id;
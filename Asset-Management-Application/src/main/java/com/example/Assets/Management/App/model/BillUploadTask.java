@@ -0,0 +1,60 @@
+package com.example.Assets.Management.App.model;
+
+import com.example.Assets.Management.App.Enums.BillUploadTaskStatus;
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outbox row for one bill PDF waiting to be uploaded. Written in the same transaction as the purchase it
+ * belongs to, so a committed purchase always has its upload queued; the staged file stays on local disk
+ * until the upload finishes. Keyed to the purchase id without a foreign key so a purchase can be deleted
+ * while its upload is still queued.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "bill_upload_task", indexes = {
+    // The uploader's poll: due pending tasks, oldest first
+    @Index(name = "idx_bill_upload_task_status_due", columnList = "status, next_attempt_at"),
+    @Index(name = "idx_bill_upload_task_purchase", columnList = "purchase_history_id")
+})
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BillUploadTask {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    Long id;
+
+    @Column(name = "purchase_history_id", nullable = false)
+    Long purchaseHistoryId;
+
+    @Column(name = "staged_path", nullable = false, length = 1000)
+    String stagedPath;
+
+    // Bill the new one replaces, removed from storage once the new one is uploaded
+    @Column(name = "previous_public_id")
+    String previousPublicId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    BillUploadTaskStatus status;
+
+    @Column(nullable = false)
+    int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 1000)
+    String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    LocalDateTime updatedAt;
+}
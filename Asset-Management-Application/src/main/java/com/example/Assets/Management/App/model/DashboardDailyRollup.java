@@ -0,0 +1,60 @@
+package com.example.Assets.Management.App.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One day's dashboard figures for one category: asset counts by status and purchase/current value totals.
+ * Written nightly by DashboardRollupService; categoryId is null for uncategorised assets, and is kept
+ * without a foreign key so history survives a category being deleted.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "dashboard_daily_rollup", indexes = {
+    @Index(name = "idx_dashboard_rollup_date_category", columnList = "rollup_date, category_id")
+})
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class DashboardDailyRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    Long id;
+
+    @Column(name = "rollup_date", nullable = false)
+    LocalDate rollupDate;
+
+    @Column(name = "category_id")
+    Long categoryId;
+
+    @Column(name = "category_name")
+    String categoryName;
+
+    @Column(nullable = false)
+    Long availableCount;
+
+    @Column(nullable = false)
+    Long assignedCount;
+
+    @Column(nullable = false)
+    Long inactiveCount;
+
+    @Column(nullable = false)
+    Long disposedCount;
+
+    @Column(nullable = false)
+    Long stolenCount;
+
+    @Column(nullable = false)
+    Double totalPurchaseValue;
+
+    @Column(nullable = false)
+    Double totalCurrentValue;
+
+    LocalDateTime createdAt;
+}
@@ -28,7 +28,7 @@ public class DepreciationRate {
     String assetType; // e.g., "Laptop", "Desktop", "Furniture"
 
     @Column(name = "financial_year", nullable = false)
-    String financialYear; // e.g., "2023-24"
+    FinancialYear financialYear; // stored as e.g. "2023-24"
 
     @Column(name = "depreciation_percentage", nullable = false)
     Double depreciationPercentage;
@@ -0,0 +1,202 @@
+package com.example.Assets.Management.App.model;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A financial year, keyed by the calendar year it starts in (2023 for "2023-24").
+ * Boundaries and labels come from a precomputed calendar table, so valuation loops compare
+ * int keys and epoch days instead of formatting and splitting "YYYY-YY" strings.
+ * The start month defaults to April; FinancialYearConfig sets the configured one before any bean is created.
+ * Years starting in January lie in one calendar year and are labelled "YYYY".
+ */
+public final class FinancialYear implements Comparable<FinancialYear> {
+
+    private static final int FIRST_TABLE_YEAR = 1900;
+    private static final int LAST_TABLE_YEAR = 2199;
+
+    private static volatile Calendar calendar = new Calendar(Month.APRIL.getValue());
+
+    private final int startYear;
+
+    private FinancialYear(int startYear) {
+        this.startYear = startYear;
+    }
+
+    /**
+     * Set the month financial years start in (1-12) and rebuild the calendar table.
+     */
+    public static void configureStartMonth(int startMonth) {
+        if (startMonth < 1 || startMonth > 12) {
+            throw new IllegalArgumentException("Financial year start month must be between 1 and 12");
+        }
+        if (calendar.startMonth != startMonth) {
+            calendar = new Calendar(startMonth);
+        }
+    }
+
+    public static int getStartMonth() {
+        return calendar.startMonth;
+    }
+
+    public static FinancialYear of(int startYear) {
+        Calendar table = calendar;
+        if (startYear >= FIRST_TABLE_YEAR && startYear <= LAST_TABLE_YEAR) {
+            return table.years[startYear - FIRST_TABLE_YEAR];
+        }
+        return new FinancialYear(startYear);
+    }
+
+    /**
+     * Financial year containing the given date.
+     */
+    public static FinancialYear of(LocalDate date) {
+        int year = date.getYear();
+        return of(date.getMonthValue() >= calendar.startMonth ? year : year - 1);
+    }
+
+    /**
+     * Financial year containing the given epoch day.
+     */
+    public static FinancialYear ofEpochDay(long epochDay) {
+        Calendar table = calendar;
+        int[] starts = table.startEpochDays;
+        if (epochDay < starts[0] || epochDay >= table.endOfTableEpochDay) {
+            return of(LocalDate.ofEpochDay(epochDay));
+        }
+        int lo = 0;
+        int hi = starts.length - 1;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (starts[mid] <= epochDay) {
+                lo = mid;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return table.years[lo];
+    }
+
+    /**
+     * Parse a "YYYY-YY" or "YYYY" label; only the start year is read.
+     * Named valueOf so Spring binds request parameters and path variables to FinancialYear directly.
+     */
+    public static FinancialYear valueOf(String label) {
+        if (label == null || !label.trim().matches("\\d{4}(-\\d{2})?")) {
+            throw new IllegalArgumentException("Financial year must be in format YYYY-YY: " + label);
+        }
+        return of(Integer.parseInt(label.trim().substring(0, 4)));
+    }
+
+    /**
+     * Every financial year from start to end, inclusive.
+     */
+    public static List<FinancialYear> range(FinancialYear start, FinancialYear end) {
+        List<FinancialYear> years = new ArrayList<>(Math.max(0, end.startYear - start.startYear + 1));
+        for (int year = start.startYear; year <= end.startYear; year++) {
+            years.add(of(year));
+        }
+        return years;
+    }
+
+    public int getStartYear() {
+        return startYear;
+    }
+
+    public LocalDate getStartDate() {
+        return LocalDate.ofEpochDay(getStartEpochDay());
+    }
+
+    public LocalDate getEndDate() {
+        return LocalDate.ofEpochDay(getEndEpochDay());
+    }
+
+    public int getStartEpochDay() {
+        Calendar table = calendar;
+        int index = startYear - FIRST_TABLE_YEAR;
+        if (index >= 0 && index < table.startEpochDays.length) {
+            return table.startEpochDays[index];
+        }
+        return (int) LocalDate.of(startYear, table.startMonth, 1).toEpochDay();
+    }
+
+    /** Last day of the financial year (inclusive). */
+    public int getEndEpochDay() {
+        return next().getStartEpochDay() - 1;
+    }
+
+    public boolean contains(LocalDate date) {
+        long day = date.toEpochDay();
+        return day >= getStartEpochDay() && day <= getEndEpochDay();
+    }
+
+    public FinancialYear next() {
+        return of(startYear + 1);
+    }
+
+    public FinancialYear previous() {
+        return of(startYear - 1);
+    }
+
+    @Override
+    public int compareTo(FinancialYear other) {
+        return Integer.compare(startYear, other.startYear);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof FinancialYear other && other.startYear == startYear;
+    }
+
+    @Override
+    public int hashCode() {
+        return Integer.hashCode(startYear);
+    }
+
+    /**
+     * The "YYYY-YY" label, e.g. "2023-24", or "YYYY" when financial years start in January.
+     */
+    @Override
+    public String toString() {
+        Calendar table = calendar;
+        int index = startYear - FIRST_TABLE_YEAR;
+        if (index >= 0 && index < table.labels.length) {
+            return table.labels[index];
+        }
+        return label(startYear, table.startMonth);
+    }
+
+    private static String label(int startYear, int startMonth) {
+        if (startMonth == Month.JANUARY.getValue()) {
+            return Integer.toString(startYear);
+        }
+        return startYear + "-" + String.format("%02d", (startYear + 1) % 100);
+    }
+
+    /**
+     * Precomputed flyweights, start boundaries and labels for FIRST_TABLE_YEAR..LAST_TABLE_YEAR.
+     */
+    private static final class Calendar {
+        final int startMonth;
+        final FinancialYear[] years;
+        final int[] startEpochDays;
+        final String[] labels;
+        final long endOfTableEpochDay;
+
+        Calendar(int startMonth) {
+            int size = LAST_TABLE_YEAR - FIRST_TABLE_YEAR + 1;
+            this.startMonth = startMonth;
+            this.years = new FinancialYear[size];
+            this.startEpochDays = new int[size];
+            this.labels = new String[size];
+            for (int i = 0; i < size; i++) {
+                years[i] = new FinancialYear(FIRST_TABLE_YEAR + i);
+                startEpochDays[i] = (int) LocalDate.of(FIRST_TABLE_YEAR + i, startMonth, 1).toEpochDay();
+                labels[i] = label(FIRST_TABLE_YEAR + i, startMonth);
+            }
+            this.endOfTableEpochDay = LocalDate.of(LAST_TABLE_YEAR + 1, startMonth, 1).toEpochDay();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.Assets.Management.App.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores a FinancialYear as its label ("YYYY-YY", or "YYYY" for January-start years), so existing
+ * financial_year columns keep their format.
+ */
+@Converter(autoApply = true)
+public class FinancialYearConverter implements AttributeConverter<FinancialYear, String> {
+
+    @Override
+    public String convertToDatabaseColumn(FinancialYear financialYear) {
+        return financialYear != null ? financialYear.toString() : null;
+    }
+
+    @Override
+    public FinancialYear convertToEntityAttribute(String label) {
+        return label != null ? FinancialYear.valueOf(label) : null;
+    }
+}
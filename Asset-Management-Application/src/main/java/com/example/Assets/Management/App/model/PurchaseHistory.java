@@ -1,8 +1,10 @@
 package com.example.Assets.Management.App.model;
 
+import com.example.Assets.Management.App.Enums.BillStatus;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -14,6 +16,17 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Builder
 @FieldDefaults(level = AccessLevel.PRIVATE)
+// Only changed columns are written, so saving an edit does not overwrite bill fields patched by the uploader
+@DynamicUpdate
+@Table(indexes = {
+    // Latest-purchase-per-asset lookups and per-asset history ordered by date (keyset pages filtered by asset)
+    @Index(name = "idx_purchase_history_asset_date", columnList = "asset_id, purchase_date, id"),
+    // Keyset pages over all purchases ordered by date
+    @Index(name = "idx_purchase_history_date", columnList = "purchase_date, id")
+}, uniqueConstraints = {
+    // Invoice numbers are unique per asset: one vendor invoice may cover several assets
+    @UniqueConstraint(name = "uk_purchase_history_asset_invoice", columnNames = {"asset_id", "invoice_number"})
+})
 public class    PurchaseHistory {
     @Id 
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -35,7 +48,7 @@ public class    PurchaseHistory {
     @Column(nullable = false)
     private String vendorName;
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String invoiceNumber;
 
     @Column(nullable = false)
@@ -56,6 +69,23 @@ public class    PurchaseHistory {
     String billUrl;
     String billPublicId;
 
+    // Set while a new bill is queued for upload; billUrl still points at the previous bill until it is done
+    @Enumerated(EnumType.STRING)
+    BillStatus billStatus;
+
     private Double stolenValue;
     private Double disposedValue;
+
+    /**
+     * Store notify as exactly "Yes" or "No", so the partial expiry index (WHERE notify = 'Yes') matches.
+     */
+    @PrePersist
+    @PreUpdate
+    void normalizeNotify() {
+        if ("Yes".equalsIgnoreCase(notify)) {
+            notify = "Yes";
+        } else if ("No".equalsIgnoreCase(notify)) {
+            notify = "No";
+        }
+    }
 }
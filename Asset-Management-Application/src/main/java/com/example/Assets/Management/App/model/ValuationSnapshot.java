@@ -0,0 +1,38 @@
+package com.example.Assets.Management.App.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Materialized valuation of one PurchaseHistory row as of a given date.
+ * Written in bulk by ValuationSnapshotService; keyed by the purchase id without a foreign key
+ * so purchases can be removed independently of their snapshot.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "valuation_snapshot")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ValuationSnapshot {
+    @Id
+    @Column(name = "purchase_history_id")
+    Long purchaseHistoryId;
+
+    @Column(name = "current_value", nullable = false)
+    Double currentValue;
+
+    @Column(name = "accumulated_depreciation", nullable = false)
+    Double accumulatedDepreciation;
+
+    @Column(name = "as_of_date", nullable = false)
+    LocalDate asOfDate;
+
+    @Column(name = "refreshed_at")
+    LocalDateTime refreshedAt;
+}
@@ -1,14 +1,20 @@
 package com.example.Assets.Management.App.repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 import java.time.LocalDateTime;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import com.example.Assets.Management.App.model.Asset;
 import com.example.Assets.Management.App.model.AssetAssignmentHistory;
+import com.example.Assets.Management.App.repository.projection.AssignmentExportRow;
 
 public interface AssetAssignmentHistoryRepository extends JpaRepository<AssetAssignmentHistory, Long> {
     List<AssetAssignmentHistory> findByAsset(Asset asset);
@@ -25,4 +31,13 @@ public interface AssetAssignmentHistoryRepository extends JpaRepository<AssetAss
     // Find by asset ID and category ID
     @Query("SELECT h FROM AssetAssignmentHistory h WHERE h.asset.id = :assetId AND h.asset.category.id = :categoryId")
     List<AssetAssignmentHistory> findByAssetIdAndCategoryId(@Param("assetId") Long assetId, @Param("categoryId") Long categoryId);
+
+    // Excel export rows in id order through a server-side cursor, optionally filtered; must be consumed inside a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT a.name AS assetName, c.name AS categoryName, u.name AS assignedUserName, " +
+           "h.status AS status, h.assignmentDate AS assignmentDate " +
+           "FROM AssetAssignmentHistory h JOIN h.asset a LEFT JOIN a.category c LEFT JOIN h.assignedUser u " +
+           "WHERE (:assetId IS NULL OR a.id = :assetId) AND (:categoryId IS NULL OR c.id = :categoryId) " +
+           "ORDER BY h.id")
+    Stream<AssignmentExportRow> streamExportRows(@Param("assetId") Long assetId, @Param("categoryId") Long categoryId);
 }
@@ -4,20 +4,43 @@ import com.example.Assets.Management.App.Enums.AssetStatus;
 import com.example.Assets.Management.App.model.Asset;
 import com.example.Assets.Management.App.model.Category;
 import com.example.Assets.Management.App.model.Users;
+import com.example.Assets.Management.App.repository.projection.AssetNameView;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.repository.query.Param;
+import java.util.Collection;
 import java.util.List;
 
 public interface AssetRepository extends JpaRepository<Asset, Long> {
     List<Asset> findByAssignedToUser(Users user);
     List<Asset> findByCategory(Category category);
+    boolean existsByImagePublicId(String imagePublicId);
 
     Page<Asset> findByCategoryAndStatus(Category category, AssetStatus status, Pageable pageable);
     Page<Asset> findByCategory(Category category, Pageable pageable);
     Page<Asset> findByStatus(AssetStatus status, Pageable pageable);
 
+    // Keyset pages in id order: the next page starts after the last id of the previous one
+    @EntityGraph(attributePaths = {"category", "assignedToUser", "lastModifiedBy"})
+    List<Asset> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    @EntityGraph(attributePaths = {"category", "assignedToUser", "lastModifiedBy"})
+    List<Asset> findByAssignedToUserIsNotNullAndIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    @EntityGraph(attributePaths = {"category", "assignedToUser", "lastModifiedBy"})
+    List<Asset> findByAssignedToUserIsNullAndIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    // Bulk import: which of the given ids exist, and assets looked up by lower-case name, in one query per batch
+    @Query("SELECT a.id FROM Asset a WHERE a.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT a.id AS id, a.name AS name, c.id AS categoryId FROM Asset a LEFT JOIN a.category c " +
+           "WHERE LOWER(a.name) IN :names ORDER BY a.id")
+    List<AssetNameView> findByNameIn(@Param("names") Collection<String> names);
 
 
     @Query(value = """
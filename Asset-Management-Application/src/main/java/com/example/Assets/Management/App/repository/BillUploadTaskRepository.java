@@ -0,0 +1,30 @@
+package com.example.Assets.Management.App.repository;
+
+import com.example.Assets.Management.App.Enums.BillUploadTaskStatus;
+import com.example.Assets.Management.App.model.BillUploadTask;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface BillUploadTaskRepository extends JpaRepository<BillUploadTask, Long> {
+
+    List<BillUploadTask> findByStatusAndNextAttemptAtLessThanEqualOrderByNextAttemptAtAsc(
+            BillUploadTaskStatus status, LocalDateTime now, Limit limit);
+
+    List<BillUploadTask> findByPurchaseHistoryIdAndStatus(Long purchaseHistoryId, BillUploadTaskStatus status);
+
+    // Move a task on only if it is still in the expected state; 0 means someone else got there first
+    @Modifying
+    @Query("UPDATE BillUploadTask t SET t.status = :to, t.updatedAt = :now WHERE t.id = :id AND t.status = :from")
+    int transition(@Param("id") Long id,
+                   @Param("from") BillUploadTaskStatus from,
+                   @Param("to") BillUploadTaskStatus to,
+                   @Param("now") LocalDateTime now);
+}
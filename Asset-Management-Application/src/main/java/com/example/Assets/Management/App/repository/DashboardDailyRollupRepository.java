@@ -0,0 +1,40 @@
+package com.example.Assets.Management.App.repository;
+
+import com.example.Assets.Management.App.model.DashboardDailyRollup;
+import com.example.Assets.Management.App.repository.projection.CategoryValueTotalsView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DashboardDailyRollupRepository extends JpaRepository<DashboardDailyRollup, Long> {
+
+    List<DashboardDailyRollup> findByRollupDateBetweenOrderByRollupDateAscCategoryNameAsc(LocalDate from, LocalDate to);
+
+    List<DashboardDailyRollup> findByCategoryIdAndRollupDateBetweenOrderByRollupDateAsc(Long categoryId, LocalDate from, LocalDate to);
+
+    // Reruns of a day replace its rows
+    @Modifying
+    @Query("DELETE FROM DashboardDailyRollup r WHERE r.rollupDate = :day")
+    int deleteByRollupDate(@Param("day") LocalDate day);
+
+    // Purchase price and today's snapshotted current value of every asset's latest purchase (as in the valuation
+    // reports), summed per category; a stolen or disposed purchase with a write-off value counts as 0
+    @Query("SELECT c.id AS categoryId, SUM(ph.purchasePrice) AS totalPurchaseValue, " +
+           "COALESCE(SUM(CASE " +
+           "WHEN a.status = com.example.Assets.Management.App.Enums.AssetStatus.STOLEN AND ph.stolenValue IS NOT NULL THEN 0.0 " +
+           "WHEN a.status = com.example.Assets.Management.App.Enums.AssetStatus.DISPOSED AND ph.disposedValue IS NOT NULL THEN 0.0 " +
+           "ELSE s.currentValue END), 0) AS totalCurrentValue " +
+           "FROM PurchaseHistory ph JOIN ph.asset a LEFT JOIN a.category c " +
+           "LEFT JOIN ValuationSnapshot s ON s.purchaseHistoryId = ph.id AND s.asOfDate = :asOfDate " +
+           "WHERE NOT EXISTS (SELECT later.id FROM PurchaseHistory later WHERE later.asset = a " +
+           "AND (later.purchaseDate > ph.purchaseDate " +
+           "OR (later.purchaseDate = ph.purchaseDate AND later.id > ph.id))) " +
+           "GROUP BY c.id")
+    List<CategoryValueTotalsView> sumValuesByCategory(@Param("asOfDate") LocalDate asOfDate);
+}
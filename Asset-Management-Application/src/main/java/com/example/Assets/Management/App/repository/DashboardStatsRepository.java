@@ -0,0 +1,30 @@
+package com.example.Assets.Management.App.repository;
+
+import com.example.Assets.Management.App.model.Asset;
+import com.example.Assets.Management.App.repository.projection.CategoryStatusCountView;
+import com.example.Assets.Management.App.repository.projection.ExpiryDateCountView;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Aggregate queries the dashboard counters are rebuilt from; counting happens in the database.
+ */
+@Repository
+public interface DashboardStatsRepository extends org.springframework.data.repository.Repository<Asset, Long> {
+
+    // Total and assigned asset counts per category and status, in one GROUP BY
+    @Query("SELECT c.id AS categoryId, c.name AS categoryName, a.status AS status, COUNT(a) AS total, " +
+           "SUM(CASE WHEN a.assignedToUser IS NOT NULL THEN 1 ELSE 0 END) AS assigned " +
+           "FROM Asset a LEFT JOIN a.category c " +
+           "GROUP BY c.id, c.name, a.status")
+    List<CategoryStatusCountView> countAssetsByCategoryAndStatus();
+
+    // Notifying purchases per expiry date
+    @Query("SELECT ph.expiryDate AS expiryDate, COUNT(ph) AS total " +
+           "FROM PurchaseHistory ph " +
+           "WHERE ph.notify = 'Yes' AND ph.expiryDate IS NOT NULL " +
+           "GROUP BY ph.expiryDate")
+    List<ExpiryDateCountView> countNotifyingPurchasesByExpiryDate();
+}
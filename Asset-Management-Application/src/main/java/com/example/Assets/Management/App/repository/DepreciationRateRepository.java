@@ -1,6 +1,7 @@
 package com.example.Assets.Management.App.repository;
 
 import com.example.Assets.Management.App.model.DepreciationRate;
+import com.example.Assets.Management.App.model.FinancialYear;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -16,26 +17,26 @@ import java.util.Optional;
 public interface DepreciationRateRepository extends JpaRepository<DepreciationRate, Long> {
     
     // Find rate by category and financial year
-    Optional<DepreciationRate> findByCategoryIdAndFinancialYear(Long categoryId, String financialYear);
+    Optional<DepreciationRate> findByCategoryIdAndFinancialYear(Long categoryId, FinancialYear financialYear);
     
     // Find rate by category, asset type and financial year
     Optional<DepreciationRate> findByCategoryIdAndAssetTypeAndFinancialYear(
-        Long categoryId, String assetType, String financialYear);
+        Long categoryId, String assetType, FinancialYear financialYear);
     
     // Find all rates for a category
     List<DepreciationRate> findByCategoryId(Long categoryId);
     
     // Find all rates for a financial year
-    List<DepreciationRate> findByFinancialYear(String financialYear);
+    List<DepreciationRate> findByFinancialYear(FinancialYear financialYear);
 
     // Paginated: find all by category
     Page<DepreciationRate> findByCategoryId(Long categoryId, Pageable pageable);
 
     // Paginated: find all by financial year
-    Page<DepreciationRate> findByFinancialYear(String financialYear, Pageable pageable);
+    Page<DepreciationRate> findByFinancialYear(FinancialYear financialYear, Pageable pageable);
 
     // Paginated: find all by category and financial year
-    Page<DepreciationRate> findByCategoryIdAndFinancialYear(Long categoryId, String financialYear, Pageable pageable);
+    Page<DepreciationRate> findByCategoryIdAndFinancialYear(Long categoryId, FinancialYear financialYear, Pageable pageable);
     
     // Find applicable rate for a category on a specific date
     @Query("SELECT dr FROM DepreciationRate dr WHERE dr.category.id = :categoryId " +
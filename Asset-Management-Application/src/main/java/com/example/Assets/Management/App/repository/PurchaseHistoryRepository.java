@@ -1,13 +1,28 @@
 package com.example.Assets.Management.App.repository;
 
+import com.example.Assets.Management.App.Enums.BillStatus;
 import com.example.Assets.Management.App.model.PurchaseHistory;
+import com.example.Assets.Management.App.repository.projection.AssetInvoiceView;
+import com.example.Assets.Management.App.repository.projection.AssetLatestPurchaseView;
+import com.example.Assets.Management.App.repository.projection.ExpiringPurchaseView;
+import com.example.Assets.Management.App.repository.projection.PurchaseExportRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface PurchaseHistoryRepository extends JpaRepository<PurchaseHistory, Long> {
@@ -16,8 +31,154 @@ public interface PurchaseHistoryRepository extends JpaRepository<PurchaseHistory
     List<PurchaseHistory> findByExpiryDateBefore(LocalDate date);
     List<PurchaseHistory> findByExpiryDateBetween(LocalDate startDate, LocalDate endDate);
     boolean existsByAssetIdAndInvoiceNumber(Long assetId, String invoiceNumber);
+    boolean existsByBillPublicId(String billPublicId);
+
+    // Bill uploader: patch only the bill columns, leaving the rest of the row to whoever is editing it
+    @Modifying
+    @Query("UPDATE PurchaseHistory ph SET ph.billUrl = :billUrl, ph.billPublicId = :billPublicId, ph.billStatus = :billStatus " +
+           "WHERE ph.id = :id")
+    int updateBill(@Param("id") Long id,
+                   @Param("billUrl") String billUrl,
+                   @Param("billPublicId") String billPublicId,
+                   @Param("billStatus") BillStatus billStatus);
+
+    @Modifying
+    @Query("UPDATE PurchaseHistory ph SET ph.billStatus = :billStatus WHERE ph.id = :id")
+    int updateBillStatus(@Param("id") Long id, @Param("billStatus") BillStatus billStatus);
+
+    // Bulk import: (asset, invoice number) pairs among a batch's assets and invoice numbers, in one query;
+    // a superset of the batch's own pairs, which the caller matches exactly
+    @Query("SELECT ph.asset.id AS assetId, ph.invoiceNumber AS invoiceNumber FROM PurchaseHistory ph " +
+           "WHERE ph.asset.id IN :assetIds AND ph.invoiceNumber IN :invoiceNumbers")
+    List<AssetInvoiceView> findInvoicesOfAssets(@Param("assetIds") Collection<Long> assetIds,
+                                                @Param("invoiceNumbers") Collection<String> invoiceNumbers);
+
+    @EntityGraph(attributePaths = {"asset", "asset.category"})
+    List<PurchaseHistory> findByIdIn(Collection<Long> ids);
+
+    // Full-text search: one page of matching ids, best match first, over the search_vector column and GIN index
+    // maintained by SchemaIndexConfig. The query is read both stemmed (English words) and as typed (invoice numbers).
+    @Query(value = """
+        SELECT p.id FROM purchase_history p,
+               (SELECT websearch_to_tsquery('english', :query) || websearch_to_tsquery('simple', :query) AS q) search
+        WHERE p.search_vector @@ search.q
+        ORDER BY ts_rank_cd(p.search_vector, search.q) DESC, p.id DESC
+        """,
+        countQuery = """
+        SELECT count(*) FROM purchase_history p
+        WHERE p.search_vector @@ (websearch_to_tsquery('english', :query) || websearch_to_tsquery('simple', :query))
+        """,
+        nativeQuery = true)
+    Page<Long> searchIds(@Param("query") String query, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"asset", "asset.category", "lastChangeBy"})
+    List<PurchaseHistory> findByIdIn(Collection<Long> ids);
 
     // For Excel export
     List<PurchaseHistory> findByAssetIdAndPurchaseDateBetween(Long assetId, LocalDate start, LocalDate end);
     List<PurchaseHistory> findByPurchaseDateBetween(LocalDate start, LocalDate end);
+
+    // Excel export rows in id order through a server-side cursor, optionally for one asset; must be consumed inside a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT a.name AS assetName, a.status AS assetStatus, c.id AS categoryId, c.name AS categoryName, " +
+           "ph.purchaseDate AS purchaseDate, ph.purchasePrice AS purchasePrice, ph.vendorName AS vendorName, " +
+           "ph.invoiceNumber AS invoiceNumber, ph.expiryDate AS expiryDate, ph.qty AS qty, " +
+           "ph.stolenValue AS stolenValue, ph.disposedValue AS disposedValue " +
+           "FROM PurchaseHistory ph JOIN ph.asset a LEFT JOIN a.category c " +
+           "WHERE (:assetId IS NULL OR a.id = :assetId) " +
+           "ORDER BY ph.id")
+    Stream<PurchaseExportRow> streamExportRows(@Param("assetId") Long assetId);
+
+    // For valuation snapshot refreshes
+    List<PurchaseHistory> findByAssetCategoryId(Long categoryId);
+    @EntityGraph(attributePaths = {"asset", "asset.category"})
+    List<PurchaseHistory> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    // Latest purchase of every asset (latest purchase date, then highest id) with its category, in one query
+    @Query("SELECT a.id AS assetId, a.name AS assetName, c.id AS categoryId, c.name AS categoryName, " +
+           "ph.id AS purchaseId, ph.purchaseDate AS purchaseDate, ph.purchasePrice AS purchasePrice " +
+           "FROM PurchaseHistory ph JOIN ph.asset a JOIN a.category c " +
+           "WHERE NOT EXISTS (SELECT later.id FROM PurchaseHistory later WHERE later.asset = a " +
+           "AND (later.purchaseDate > ph.purchaseDate " +
+           "OR (later.purchaseDate = ph.purchaseDate AND later.id > ph.id))) " +
+           "ORDER BY a.id")
+    List<AssetLatestPurchaseView> findLatestPurchasePerAsset();
+
+    // Same rows as findLatestPurchasePerAsset, fetched through a server-side cursor; must be consumed inside a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT a.id AS assetId, a.name AS assetName, c.id AS categoryId, c.name AS categoryName, " +
+           "ph.id AS purchaseId, ph.purchaseDate AS purchaseDate, ph.purchasePrice AS purchasePrice " +
+           "FROM PurchaseHistory ph JOIN ph.asset a JOIN a.category c " +
+           "WHERE NOT EXISTS (SELECT later.id FROM PurchaseHistory later WHERE later.asset = a " +
+           "AND (later.purchaseDate > ph.purchaseDate " +
+           "OR (later.purchaseDate = ph.purchaseDate AND later.id > ph.id))) " +
+           "ORDER BY a.id")
+    Stream<AssetLatestPurchaseView> streamLatestPurchasePerAsset();
+
+    // Expiry lists: notifying purchases only, filtered in SQL on the partial index, with just the columns the views show
+    @Query("SELECT ph.id AS id, a.id AS assetId, a.name AS assetName, c.name AS categoryName, " +
+           "ph.purchaseDate AS purchaseDate, ph.expiryDate AS expiryDate, ph.warrantyPeriod AS warrantyPeriod, " +
+           "ph.invoiceNumber AS invoiceNumber, ph.vendorName AS vendorName, " +
+           "u.name AS assignedToUserName, u.email AS assignedToUserEmail " +
+           "FROM PurchaseHistory ph JOIN ph.asset a LEFT JOIN a.category c LEFT JOIN a.assignedToUser u " +
+           "WHERE ph.notify = 'Yes' AND ph.expiryDate BETWEEN :from AND :to " +
+           "ORDER BY ph.expiryDate, ph.id")
+    List<ExpiringPurchaseView> findNotifyingExpiringBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT ph.id AS id, a.id AS assetId, a.name AS assetName, c.name AS categoryName, " +
+           "ph.purchaseDate AS purchaseDate, ph.expiryDate AS expiryDate, ph.warrantyPeriod AS warrantyPeriod, " +
+           "ph.invoiceNumber AS invoiceNumber, ph.vendorName AS vendorName, " +
+           "u.name AS assignedToUserName, u.email AS assignedToUserEmail " +
+           "FROM PurchaseHistory ph JOIN ph.asset a LEFT JOIN a.category c LEFT JOIN a.assignedToUser u " +
+           "WHERE ph.notify = 'Yes' AND ph.expiryDate < :before " +
+           "ORDER BY ph.expiryDate DESC, ph.id DESC")
+    List<ExpiringPurchaseView> findNotifyingExpiredBefore(@Param("before") LocalDate before);
+
+    // Keyset pages on (purchase_date, id) and (asset_id, purchase_date, id); the first page has no cursor.
+    // The redundant purchaseDate bound lets the composite index range-scan from the cursor.
+    @EntityGraph(attributePaths = {"asset", "asset.category", "lastChangeBy"})
+    @Query("SELECT ph FROM PurchaseHistory ph ORDER BY ph.purchaseDate DESC, ph.id DESC")
+    List<PurchaseHistory> findFirstPageDesc(Limit limit);
+
+    @EntityGraph(attributePaths = {"asset", "asset.category", "lastChangeBy"})
+    @Query("SELECT ph FROM PurchaseHistory ph WHERE ph.purchaseDate <= :date " +
+           "AND (ph.purchaseDate < :date OR ph.id < :id) " +
+           "ORDER BY ph.purchaseDate DESC, ph.id DESC")
+    List<PurchaseHistory> findPageBefore(@Param("date") LocalDate date, @Param("id") Long id, Limit limit);
+
+    @EntityGraph(attributePaths = {"asset", "asset.category", "lastChangeBy"})
+    @Query("SELECT ph FROM PurchaseHistory ph ORDER BY ph.purchaseDate ASC, ph.id ASC")
+    List<PurchaseHistory> findFirstPageAsc(Limit limit);
+
+    @EntityGraph(attributePaths = {"asset", "asset.category", "lastChangeBy"})
+    @Query("SELECT ph FROM PurchaseHistory ph WHERE ph.purchaseDate >= :date " +
+           "AND (ph.purchaseDate > :date OR ph.id > :id) " +
+           "ORDER BY ph.purchaseDate ASC, ph.id ASC")
+    List<PurchaseHistory> findPageAfter(@Param("date") LocalDate date, @Param("id") Long id, Limit limit);
+
+    @EntityGraph(attributePaths = {"asset", "asset.category", "lastChangeBy"})
+    @Query("SELECT ph FROM PurchaseHistory ph WHERE ph.asset.id = :assetId " +
+           "ORDER BY ph.purchaseDate DESC, ph.id DESC")
+    List<PurchaseHistory> findFirstPageDescByAssetId(@Param("assetId") Long assetId, Limit limit);
+
+    @EntityGraph(attributePaths = {"asset", "asset.category", "lastChangeBy"})
+    @Query("SELECT ph FROM PurchaseHistory ph WHERE ph.asset.id = :assetId AND ph.purchaseDate <= :date " +
+           "AND (ph.purchaseDate < :date OR ph.id < :id) " +
+           "ORDER BY ph.purchaseDate DESC, ph.id DESC")
+    List<PurchaseHistory> findPageBeforeByAssetId(@Param("assetId") Long assetId, @Param("date") LocalDate date,
+                                                  @Param("id") Long id, Limit limit);
+
+    @EntityGraph(attributePaths = {"asset", "asset.category", "lastChangeBy"})
+    @Query("SELECT ph FROM PurchaseHistory ph WHERE ph.asset.id = :assetId " +
+           "ORDER BY ph.purchaseDate ASC, ph.id ASC")
+    List<PurchaseHistory> findFirstPageAscByAssetId(@Param("assetId") Long assetId, Limit limit);
+
+    @EntityGraph(attributePaths = {"asset", "asset.category", "lastChangeBy"})
+    @Query("SELECT ph FROM PurchaseHistory ph WHERE ph.asset.id = :assetId AND ph.purchaseDate >= :date " +
+           "AND (ph.purchaseDate > :date OR ph.id > :id) " +
+           "ORDER BY ph.purchaseDate ASC, ph.id ASC")
+    List<PurchaseHistory> findPageAfterByAssetId(@Param("assetId") Long assetId, @Param("date") LocalDate date,
+                                                 @Param("id") Long id, Limit limit);
+
+    long countByAssetId(Long assetId);
 }
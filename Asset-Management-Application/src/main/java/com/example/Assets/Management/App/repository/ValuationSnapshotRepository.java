@@ -0,0 +1,48 @@
+package com.example.Assets.Management.App.repository;
+
+import com.example.Assets.Management.App.model.ValuationSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ValuationSnapshotRepository extends JpaRepository<ValuationSnapshot, Long> {
+
+    Optional<ValuationSnapshot> findByPurchaseHistoryIdAndAsOfDate(Long purchaseHistoryId, LocalDate asOfDate);
+
+    List<ValuationSnapshot> findByPurchaseHistoryIdInAndAsOfDate(Collection<Long> purchaseHistoryIds, LocalDate asOfDate);
+
+    long countByAsOfDate(LocalDate asOfDate);
+
+    // Portfolio and per-asset current value; the join skips snapshots whose purchase is gone, and stolen or
+    // disposed purchases with a write-off value are left out since they are reported at 0
+    @Query("SELECT COALESCE(SUM(s.currentValue), 0) FROM ValuationSnapshot s " +
+           "JOIN PurchaseHistory ph ON ph.id = s.purchaseHistoryId JOIN ph.asset a " +
+           "WHERE NOT (a.status = com.example.Assets.Management.App.Enums.AssetStatus.STOLEN AND ph.stolenValue IS NOT NULL) " +
+           "AND NOT (a.status = com.example.Assets.Management.App.Enums.AssetStatus.DISPOSED AND ph.disposedValue IS NOT NULL)")
+    double sumCurrentValue();
+
+    @Query("SELECT COALESCE(SUM(s.currentValue), 0) FROM ValuationSnapshot s " +
+           "JOIN PurchaseHistory ph ON ph.id = s.purchaseHistoryId JOIN ph.asset a WHERE a.id = :assetId " +
+           "AND NOT (a.status = com.example.Assets.Management.App.Enums.AssetStatus.STOLEN AND ph.stolenValue IS NOT NULL) " +
+           "AND NOT (a.status = com.example.Assets.Management.App.Enums.AssetStatus.DISPOSED AND ph.disposedValue IS NOT NULL)")
+    double sumCurrentValueByAssetId(@Param("assetId") Long assetId);
+
+    // Drop snapshots whose purchase no longer exists (e.g. removed by an asset cascade delete)
+    @Modifying
+    @Query(value = """
+        DELETE FROM valuation_snapshot s
+        WHERE NOT EXISTS (
+            SELECT 1 FROM purchase_history p
+            WHERE p.id = s.purchase_history_id
+        )
+        """, nativeQuery = true)
+    int deleteOrphans();
+}
@@ -0,0 +1,9 @@
+package com.example.Assets.Management.App.repository.projection;
+
+/**
+ * An invoice number already recorded against an asset, checked during a bulk import.
+ */
+public interface AssetInvoiceView {
+    Long getAssetId();
+    String getInvoiceNumber();
+}
@@ -0,0 +1,16 @@
+package com.example.Assets.Management.App.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * An asset, its category and its latest purchase, read in one row.
+ */
+public interface AssetLatestPurchaseView {
+    Long getAssetId();
+    String getAssetName();
+    Long getCategoryId();
+    String getCategoryName();
+    Long getPurchaseId();
+    LocalDate getPurchaseDate();
+    Double getPurchasePrice();
+}
@@ -0,0 +1,10 @@
+package com.example.Assets.Management.App.repository.projection;
+
+/**
+ * An asset's id with the name and category it is matched on during a bulk import.
+ */
+public interface AssetNameView {
+    Long getId();
+    String getName();
+    Long getCategoryId();
+}
@@ -0,0 +1,14 @@
+package com.example.Assets.Management.App.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * One assignment history entry with the asset, category and user names the Excel export writes.
+ */
+public interface AssignmentExportRow {
+    String getAssetName();
+    String getCategoryName();
+    String getAssignedUserName();
+    String getStatus();
+    LocalDateTime getAssignmentDate();
+}
@@ -0,0 +1,14 @@
+package com.example.Assets.Management.App.repository.projection;
+
+import com.example.Assets.Management.App.Enums.AssetStatus;
+
+/**
+ * Asset counts of one category and status (category null for uncategorised assets).
+ */
+public interface CategoryStatusCountView {
+    Long getCategoryId();
+    String getCategoryName();
+    AssetStatus getStatus();
+    Long getTotal();
+    Long getAssigned();
+}
@@ -0,0 +1,10 @@
+package com.example.Assets.Management.App.repository.projection;
+
+/**
+ * Purchase and current value totals of one category (category null for uncategorised assets).
+ */
+public interface CategoryValueTotalsView {
+    Long getCategoryId();
+    Double getTotalPurchaseValue();
+    Double getTotalCurrentValue();
+}
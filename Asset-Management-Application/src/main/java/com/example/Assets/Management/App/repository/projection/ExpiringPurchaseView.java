@@ -0,0 +1,20 @@
+package com.example.Assets.Management.App.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * A notifying purchase in the expiring-soon / expired lists, with its asset and assignee.
+ */
+public interface ExpiringPurchaseView {
+    Long getId();
+    Long getAssetId();
+    String getAssetName();
+    String getCategoryName();
+    LocalDate getPurchaseDate();
+    LocalDate getExpiryDate();
+    Integer getWarrantyPeriod();
+    String getInvoiceNumber();
+    String getVendorName();
+    String getAssignedToUserName();
+    String getAssignedToUserEmail();
+}
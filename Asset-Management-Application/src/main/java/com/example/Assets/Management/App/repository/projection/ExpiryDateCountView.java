@@ -0,0 +1,11 @@
+package com.example.Assets.Management.App.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Number of notifying purchases that expire on one date.
+ */
+public interface ExpiryDateCountView {
+    LocalDate getExpiryDate();
+    Long getTotal();
+}
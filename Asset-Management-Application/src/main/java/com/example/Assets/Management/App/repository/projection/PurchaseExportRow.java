@@ -0,0 +1,23 @@
+package com.example.Assets.Management.App.repository.projection;
+
+import com.example.Assets.Management.App.Enums.AssetStatus;
+
+import java.time.LocalDate;
+
+/**
+ * One purchase with the asset and category columns the Excel export writes.
+ */
+public interface PurchaseExportRow {
+    String getAssetName();
+    AssetStatus getAssetStatus();
+    Long getCategoryId();
+    String getCategoryName();
+    LocalDate getPurchaseDate();
+    Double getPurchasePrice();
+    String getVendorName();
+    String getInvoiceNumber();
+    LocalDate getExpiryDate();
+    Integer getQty();
+    Double getStolenValue();
+    Double getDisposedValue();
+}
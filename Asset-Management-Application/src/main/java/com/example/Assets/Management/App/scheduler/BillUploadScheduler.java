@@ -0,0 +1,37 @@
+package com.example.Assets.Management.App.scheduler;
+
+import com.example.Assets.Management.App.service.BillUploadService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class BillUploadScheduler {
+    private static final Logger logger = LoggerFactory.getLogger(BillUploadScheduler.class);
+
+    @Autowired
+    private BillUploadService billUploadService;
+
+    // Polls that have failed in a row; only the first of a run logs the stack trace
+    private int consecutiveFailures;
+
+    // Picks up queued bill PDFs shortly after the purchase is saved; failed ones wait for their backoff
+    @Scheduled(fixedDelayString = "${bill.upload.poll-interval-ms:2000}")
+    public void uploadQueuedBills() {
+        try {
+            billUploadService.uploadDue();
+            if (consecutiveFailures > 0) {
+                logger.info("Queued bill uploads recovered after {} failed polls", consecutiveFailures);
+                consecutiveFailures = 0;
+            }
+        } catch (Exception e) {
+            if (consecutiveFailures++ == 0) {
+                logger.error("Failed to upload queued bills", e);
+            } else {
+                logger.warn("Failed to upload queued bills ({} polls in a row): {}", consecutiveFailures, e.getMessage());
+            }
+        }
+    }
+}
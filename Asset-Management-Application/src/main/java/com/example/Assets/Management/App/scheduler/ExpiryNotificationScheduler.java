@@ -1,11 +1,10 @@
 package com.example.Assets.Management.App.scheduler;
 
-import com.example.Assets.Management.App.model.Asset;
-import com.example.Assets.Management.App.model.PurchaseHistory;
 import com.example.Assets.Management.App.model.Users;
 import com.example.Assets.Management.App.repository.AssetRepository;
 import com.example.Assets.Management.App.repository.PurchaseHistoryRepository;
 import com.example.Assets.Management.App.repository.UserRepository;
+import com.example.Assets.Management.App.repository.projection.ExpiringPurchaseView;
 import com.example.Assets.Management.App.service.EmailService;
 // import com.example.Assets.Management.App.service.SmsService;
 import com.example.Assets.Management.App.Enums.Role;
@@ -41,11 +40,8 @@ public class ExpiryNotificationScheduler {
             LocalDate now = LocalDate.now();
             LocalDate soon = now.plusDays(30);
             
-            // Get all purchase histories that are expiring soon and have notifications enabled
-            List<PurchaseHistory> expiringHistories = purchaseHistoryRepository.findByExpiryDateBetween(now, soon)
-                .stream()
-                .filter(history -> "Yes".equalsIgnoreCase(history.getNotify()))
-                .collect(Collectors.toList());
+            // Purchases expiring soon with notifications enabled, filtered in SQL with only the columns the email needs
+            List<ExpiringPurchaseView> expiringHistories = purchaseHistoryRepository.findNotifyingExpiringBetween(now, soon);
 
             if (expiringHistories.isEmpty()) {
                 System.out.println("No assets expiring in the next 30 days.");
@@ -63,21 +59,20 @@ public class ExpiryNotificationScheduler {
             }
 
             int notificationsSent = 0;
-            for (PurchaseHistory history : expiringHistories) {
-                Asset asset = history.getAsset();
-                String subject = "Asset Expiry Alert: " + asset.getName();
+            for (ExpiringPurchaseView history : expiringHistories) {
+                String subject = "Asset Expiry Alert: " + history.getAssetName();
                 String baseText = String.format(
                     "The asset '%s' is expiring on %s\nPurchase Date: %s\nWarranty Period: %s months",
-                    asset.getName(),
+                    history.getAssetName(),
                     history.getExpiryDate(),
                     history.getPurchaseDate(),
                     history.getWarrantyPeriod()
                 );
 
                 try {
-                    if (asset.getAssignedToUser() != null) {
+                    if (history.getAssignedToUserEmail() != null) {
                         // Case 1: Asset has assigned user - send to user with admins in CC
-                        String userEmail = asset.getAssignedToUser().getEmail();
+                        String userEmail = history.getAssignedToUserEmail();
                         emailService.sendEmailWithCc(userEmail, adminEmails, subject, baseText);
                         
                         // Send SMS to assigned user if mobile number is available
@@ -96,7 +91,7 @@ public class ExpiryNotificationScheduler {
                     }
                     notificationsSent++;
                 } catch (Exception emailException) {
-                    System.err.println("Failed to send notification for asset: " + asset.getName() + 
+                    System.err.println("Failed to send notification for asset: " + history.getAssetName() + 
                                      ". Error: " + emailException.getMessage());
                 }
             }
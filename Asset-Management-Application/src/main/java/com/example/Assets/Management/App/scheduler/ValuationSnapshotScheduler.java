@@ -0,0 +1,37 @@
+package com.example.Assets.Management.App.scheduler;
+
+import com.example.Assets.Management.App.service.DashboardRollupService;
+import com.example.Assets.Management.App.service.ValuationSnapshotService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ValuationSnapshotScheduler {
+    private static final Logger logger = LoggerFactory.getLogger(ValuationSnapshotScheduler.class);
+
+    @Autowired
+    private ValuationSnapshotService valuationSnapshotService;
+
+    @Autowired
+    private DashboardRollupService dashboardRollupService;
+
+    // Runs every day at 00:05, so snapshots are dated today before office hours
+    @Scheduled(cron = "0 5 0 * * ?")
+    public void refreshValuationSnapshot() {
+        try {
+            valuationSnapshotService.refreshAll();
+        } catch (Exception e) {
+            logger.error("Failed to refresh valuation snapshot, skipping dashboard rollup", e);
+            return;
+        }
+        // The daily rollup reads current values from the snapshot, so it only runs after a successful refresh
+        try {
+            dashboardRollupService.rollupToday();
+        } catch (Exception e) {
+            logger.error("Failed to write dashboard rollup", e);
+        }
+    }
+}
@@ -12,6 +12,7 @@ import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.http.HttpMethod;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletResponse;
 
 @Configuration
@@ -32,6 +33,8 @@ public class SecurityConfig {
             .cors(cors -> cors.configure(http))
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
+                // Streamed responses finish on an async dispatch; the request was already authorized on the original dispatch
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .requestMatchers("/api/auth/refresh-token","/api/auth/**","/api/auth/google-login","/swagger-ui/**","/swagger-ui.html","/v3/api-docs/**","/actuator/**").permitAll()
                 .requestMatchers("/api/public/**","/api/public").permitAll()
                 .requestMatchers(HttpMethod.GET).hasAnyRole("ADMIN", "USER")
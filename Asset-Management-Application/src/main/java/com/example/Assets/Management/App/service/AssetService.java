@@ -8,8 +8,19 @@ import com.example.Assets.Management.App.repository.AssetAssignmentHistoryReposi
 import com.example.Assets.Management.App.repository.AssetRepository;
 import com.example.Assets.Management.App.repository.CategoryRepository;
 import com.example.Assets.Management.App.repository.UserRepository;
+import com.example.Assets.Management.App.repository.projection.AssignmentExportRow;
 import com.example.Assets.Management.App.Enums.AssetStatus;
-
+import com.example.Assets.Management.App.Enums.BlobFolder;
+import com.example.Assets.Management.App.event.AssetChangedEvent;
+import com.example.Assets.Management.App.event.AssetState;
+import com.example.Assets.Management.App.event.PurchaseChangedEvent;
+import com.example.Assets.Management.App.event.PurchaseState;
+import com.example.Assets.Management.App.storage.BlobStore;
+import com.example.Assets.Management.App.storage.StoredBlob;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Sort;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -18,26 +29,32 @@ import org.springframework.web.multipart.MultipartFile;
 import com.example.Assets.Management.App.dto.requestDto.AssetRequestDTO;
 import com.example.Assets.Management.App.dto.responseDto.AssetResponseDTO;
 import com.example.Assets.Management.App.dto.responseDto.PaginatedResponse;
-import com.cloudinary.Cloudinary;
 import com.example.Assets.Management.App.dto.mapper.AssetMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
 import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
-import java.io.ByteArrayOutputStream;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.stream.Stream;
 import java.time.LocalDate;
 import com.example.Assets.Management.App.model.PurchaseHistory;
 import com.example.Assets.Management.App.repository.PurchaseHistoryRepository;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Service
 @Transactional
 public class AssetService {
+    private static final Logger logger = LoggerFactory.getLogger(AssetService.class);
+
+    // Rows of an Excel export kept in memory; older rows are flushed to a temporary file
+    private static final int EXPORT_ROW_WINDOW = 100;
     
     @Autowired
     private AssetRepository assetRepository;
@@ -50,7 +67,7 @@ public class AssetService {
     private AssetMapper assetMapper;
 
     @Autowired
-    private Cloudinary cloudinary;
+    private BlobStore blobStore;
 
     @Autowired
     private UserService userService;
@@ -67,6 +84,12 @@ public class AssetService {
     @Autowired
     private PurchaseHistoryRepository purchaseHistoryRepository;
 
+    @Autowired
+    private ValuationSnapshotService valuationSnapshotService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public PaginatedResponse<AssetResponseDTO> getAllAssets(int page, int size, Long categoryId, AssetStatus status) {
         Pageable pageable = PageRequest.of(page, size);
         Page<Asset> assets;
@@ -132,6 +155,7 @@ public class AssetService {
     public AssetResponseDTO createAsset(AssetRequestDTO assetRequestDTO) {
         Asset asset = assetMapper.toEntity(assetRequestDTO);
         Asset savedAsset = assetRepository.save(asset);
+        publishAssetChanged(savedAsset.getId(), AssetChangedEvent.Type.CREATED, null, savedAsset);
         return assetMapper.toResponseDTO(savedAsset);
     }
 
@@ -144,21 +168,26 @@ public class AssetService {
         }
         asset.setLastModifiedBy(userRepository.findByEmail(modifiedBy).get());
         Asset savedAsset = assetRepository.save(asset);
+        publishAssetChanged(savedAsset.getId(), AssetChangedEvent.Type.CREATED, null, savedAsset);
         return assetMapper.toResponseDTO(savedAsset);
     }
 
     public AssetResponseDTO updateAsset(Long id, AssetRequestDTO assetRequestDTO) {
         Asset asset = assetRepository.findById(id).get();
+        AssetState before = AssetState.of(asset);
         asset.setCategory(categoryRepository.findById(assetRequestDTO.getCategoryId()).get());
         asset.setDescription(assetRequestDTO.getDescription());
         asset.setName(assetRequestDTO.getName());
         asset.setWarrantyPeriod(assetRequestDTO.getWarrantyPeriod());
         Asset updatedAsset = assetRepository.save(asset);
+        valuationSnapshotService.refreshAsset(id);
+        publishAssetChanged(id, AssetChangedEvent.Type.UPDATED, before, updatedAsset);
         return assetMapper.toResponseDTO(updatedAsset);
     }
 
     public AssetResponseDTO updateAssetWithImage(Long id, AssetRequestDTO assetRequestDTO, MultipartFile file, String modifiedBy) {
         Asset asset = assetRepository.findById(id).orElseThrow(() -> new RuntimeException("Asset not found"));
+        AssetState before = AssetState.of(asset);
         asset.setCategory(categoryRepository.findById(assetRequestDTO.getCategoryId()).get());
         asset.setDescription(assetRequestDTO.getDescription());
         asset.setName(assetRequestDTO.getName());
@@ -170,6 +199,8 @@ public class AssetService {
         }
         asset.setLastModifiedBy(userRepository.findByEmail(modifiedBy).get());
         Asset updatedAsset = assetRepository.save(asset);
+        valuationSnapshotService.refreshAsset(id);
+        publishAssetChanged(id, AssetChangedEvent.Type.UPDATED, before, updatedAsset);
         return assetMapper.toResponseDTO(updatedAsset);
     }
 
@@ -185,18 +216,36 @@ public class AssetService {
 
     public void inactiveAsset(Long id){
         Asset asset = assetRepository.findById(id).get();
+        AssetState before = AssetState.of(asset);
         asset.setStatus(AssetStatus.INACTIVE);
         assetRepository.save(asset);
+        publishAssetChanged(id, AssetChangedEvent.Type.STATUS_CHANGED, before, asset);
     }
 
     public void activeAsset(Long id){
         Asset asset = assetRepository.findById(id).get();
+        AssetState before = AssetState.of(asset);
         asset.setStatus(AssetStatus.AVAILABLE);
         assetRepository.save(asset);
+        publishAssetChanged(id, AssetChangedEvent.Type.STATUS_CHANGED, before, asset);
     }
 
     public void deleteAsset(Long id) {
+        Asset asset = assetRepository.findById(id).orElse(null);
+        if (asset == null) {
+            assetRepository.deleteById(id);
+            return;
+        }
+        // Purchases are removed with the asset by cascade; capture them first so listeners see them go
+        AssetState before = AssetState.of(asset);
+        List<PurchaseHistory> purchases = purchaseHistoryRepository.findByAssetId(id);
         assetRepository.deleteById(id);
+        valuationSnapshotService.remove(purchases.stream().map(PurchaseHistory::getId).toList());
+        for (PurchaseHistory purchase : purchases) {
+            eventPublisher.publishEvent(new PurchaseChangedEvent(
+                    purchase.getId(), PurchaseChangedEvent.Type.REMOVED, PurchaseState.of(purchase), null));
+        }
+        eventPublisher.publishEvent(new AssetChangedEvent(id, AssetChangedEvent.Type.DELETED, before, null));
     }
 
     public List<AssetResponseDTO> getAssetsByUser(Long userId) {
@@ -217,27 +266,39 @@ public class AssetService {
     }
 
     public Map<String, String> uploadAssetImage(MultipartFile file, Asset asset) {
+        String previousId = asset.getImagePublicId();
+        StoredBlob stored;
         try {
-            Map<String, Object> uploadOptions = new HashMap<>();
-            String publicId = asset.getImagePublicId();
-
-            if (publicId != null) {
-                uploadOptions.put("public_id", publicId);
-                uploadOptions.put("overwrite", true);
-                uploadOptions.put("invalidate", true);
-            } else {
-                // Set folder structure for new uploads (parent/child)
-                uploadOptions.put("folder", "asset-management-system/asset_image");
-            }
-            Map uploadResult = cloudinary.uploader().upload(file.getBytes(), uploadOptions);
-            String imageUrl = uploadResult.get("secure_url").toString();
-            String newPublicId = uploadResult.get("public_id").toString();
-            return Map.of(
-                    "imageUrl", imageUrl,
-                    "publicId", newPublicId);
+            // Cloudinary overwrites the previous image in place; the local store files it under a new id
+            stored = blobStore.store(BlobFolder.ASSET_IMAGE, null, file.getResource(), previousId);
         } catch (Exception e) {
             throw new RuntimeException("Image upload failed", e);
         }
+        if (previousId != null && !previousId.equals(stored.id())) {
+            deleteImageAfterCommit(previousId);
+        }
+        return Map.of(
+                "imageUrl", stored.url(),
+                "publicId", stored.id());
+    }
+
+    /**
+     * Remove a replaced image once the asset pointing at the new one is committed, unless another asset
+     * still uses it (identical images share one file in a content-addressed store).
+     */
+    private void deleteImageAfterCommit(String imageId) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    if (!assetRepository.existsByImagePublicId(imageId)) {
+                        blobStore.delete(BlobFolder.ASSET_IMAGE, imageId);
+                    }
+                } catch (Exception e) {
+                    logger.warn("Could not delete replaced image {}: {}", imageId, e.getMessage());
+                }
+            }
+        });
     }
 
     public AssetResponseDTO returnAsset(Long assetId, String modifiedBy) {
@@ -245,6 +306,7 @@ public class AssetService {
             .orElseThrow(() -> new RuntimeException("Asset not found"));
         Users changeBy = userRepository.findByEmail(modifiedBy).orElseThrow();
         Users previousUser = asset.getAssignedToUser();
+        AssetState before = AssetState.of(asset);
     
         asset.setAssignedToUser(null);
         asset.setStatus(AssetStatus.AVAILABLE);
@@ -261,6 +323,7 @@ public class AssetService {
                 .build();
             assignmentHistoryRepository.save(history);
         }
+        publishAssetChanged(assetId, AssetChangedEvent.Type.RETURNED, before, asset);
     
         return assetMapper.toResponseDTO(asset);
     }
@@ -271,6 +334,7 @@ public class AssetService {
         Users newUser = userRepository.findById(newUserId)
             .orElseThrow(() -> new RuntimeException("User not found"));
         Users changeBy = userRepository.findByEmail(modifiedBy).orElseThrow();
+        AssetState before = AssetState.of(asset);
     
         asset.setAssignedToUser(newUser);
         asset.setStatus(AssetStatus.ASSIGNED);
@@ -285,33 +349,31 @@ public class AssetService {
             .status("ASSIGNED")
             .build();
         assignmentHistoryRepository.save(history);
+        publishAssetChanged(assetId, AssetChangedEvent.Type.ASSIGNED, before, asset);
     
         return assetMapper.toResponseDTO(asset);
     }
     
 
-    public byte[] exportAssetAssignmentHistoryToExcel(Long assetId, Long categoryId) throws IOException {
-        List<AssetAssignmentHistory> histories;
-        
-        if (assetId != null && categoryId != null) {
-            histories = assignmentHistoryRepository.findByAssetIdAndCategoryId(assetId, categoryId);
-        } else if (assetId != null) {
-            histories = assignmentHistoryRepository.findByAssetId(assetId);
-        } else if (categoryId != null) {
-            histories = assignmentHistoryRepository.findByCategoryId(categoryId);
-        } else {
-            histories = assignmentHistoryRepository.findAll();
-        }
-
+    /**
+     * Write the assignment history workbook straight to the output stream, keeping only the last
+     * EXPORT_ROW_WINDOW rows in memory. Columns have fixed widths instead of being auto-sized.
+     */
+    @Transactional(readOnly = true)
+    public void exportAssetAssignmentHistoryToExcel(Long assetId, Long categoryId, OutputStream out) throws IOException {
         String[] columns = {
             "S.No", "Asset Name", "Category", "Assigned User", "Status", "Assignment Date"
         };
+        int[] columnWidths = {8, 30, 20, 25, 12, 18};
 
-        try (
-            Workbook workbook = new XSSFWorkbook();
-            ByteArrayOutputStream out = new ByteArrayOutputStream()
-        ) {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(EXPORT_ROW_WINDOW);
+        workbook.setCompressTempFiles(true);
+        // Closing the workbook also deletes its temporary sheet files, even if the client went away mid-download
+        try (workbook; Stream<AssignmentExportRow> histories = assignmentHistoryRepository.streamExportRows(assetId, categoryId)) {
             Sheet sheet = workbook.createSheet("Asset Assignment History");
+            for (int i = 0; i < columnWidths.length; i++) {
+                sheet.setColumnWidth(i, columnWidths[i] * 256);
+            }
 
             CellStyle headerStyle = workbook.createCellStyle();
             headerStyle.setFillForegroundColor(IndexedColors.DARK_BLUE.getIndex());
@@ -333,30 +395,24 @@ public class AssetService {
             }
 
             int rowIdx = 1;
-            int serialNumber = 1;
-            for (AssetAssignmentHistory history : histories) {
-                Row row = sheet.createRow(rowIdx++);
-                Asset asset = history.getAsset();
-                String categoryName = asset.getCategory() != null ? asset.getCategory().getName() : "";
-                String assignedUserName = history.getAssignedUser() != null ? history.getAssignedUser().getName() : "";
-
-                row.createCell(0).setCellValue(serialNumber++);
-                row.createCell(1).setCellValue(asset.getName());
-                row.createCell(2).setCellValue(categoryName);
-                row.createCell(3).setCellValue(assignedUserName);
+            for (Iterator<AssignmentExportRow> it = histories.iterator(); it.hasNext(); ) {
+                AssignmentExportRow history = it.next();
+                Row row = sheet.createRow(rowIdx);
+
+                row.createCell(0).setCellValue(rowIdx);
+                row.createCell(1).setCellValue(history.getAssetName());
+                row.createCell(2).setCellValue(history.getCategoryName() != null ? history.getCategoryName() : "");
+                row.createCell(3).setCellValue(history.getAssignedUserName() != null ? history.getAssignedUserName() : "");
                 row.createCell(4).setCellValue(history.getStatus());
 
                 Cell dateCell = row.createCell(5);
                 dateCell.setCellValue(history.getAssignmentDate());
                 dateCell.setCellStyle(dateStyle);
-            }
-
-            for (int i = 0; i < columns.length; i++) {
-                sheet.autoSizeColumn(i);
+                rowIdx++;
             }
 
             workbook.write(out);
-            return out.toByteArray();
+            out.flush();
         }
     }
 
@@ -367,6 +423,7 @@ public class AssetService {
         if (asset.getStatus() == AssetStatus.DISPOSED) {
             throw new IllegalStateException("Cannot mark as stolen: asset is already disposed.");
         }
+        AssetState before = AssetState.of(asset);
         List<PurchaseHistory> histories = purchaseHistoryRepository.findByAssetId(assetId);
 
         if (histories != null && !histories.isEmpty()) {
@@ -387,6 +444,7 @@ public class AssetService {
         asset.setStolenReportedBy(reportedBy);
         asset.setStolenNotes(notes);
         assetRepository.save(asset);
+        publishAssetChanged(assetId, AssetChangedEvent.Type.STATUS_CHANGED, before, asset);
     }
 
     @Transactional
@@ -396,6 +454,7 @@ public class AssetService {
         if (asset.getStatus() == AssetStatus.STOLEN) {
             throw new IllegalStateException("Cannot mark as disposed: asset is already stolen.");
         }
+        AssetState before = AssetState.of(asset);
         List<PurchaseHistory> histories = purchaseHistoryRepository.findByAssetId(assetId);
 
         if (histories != null && !histories.isEmpty()) {
@@ -414,5 +473,13 @@ public class AssetService {
         asset.setDisposedNotes(notes);
         asset.setStatus(AssetStatus.DISPOSED);
         assetRepository.save(asset);
+        publishAssetChanged(assetId, AssetChangedEvent.Type.STATUS_CHANGED, before, asset);
+    }
+
+    /**
+     * Listeners run after the surrounding transaction commits, so the event carries state captured now.
+     */
+    private void publishAssetChanged(Long assetId, AssetChangedEvent.Type type, AssetState before, Asset after) {
+        eventPublisher.publishEvent(new AssetChangedEvent(assetId, type, before, AssetState.of(after)));
     }
 }
@@ -1,165 +1,270 @@
 package com.example.Assets.Management.App.service;
 
+import com.example.Assets.Management.App.dto.responseDto.AssetDepreciationScheduleDTO;
 import com.example.Assets.Management.App.dto.responseDto.AssetValuationDTO;
+import com.example.Assets.Management.App.dto.responseDto.FinancialYearDepreciationDTO;
 import com.example.Assets.Management.App.dto.responseDto.FinancialYearSummaryDTO;
-import com.example.Assets.Management.App.model.Asset;
+import com.example.Assets.Management.App.model.FinancialYear;
 import com.example.Assets.Management.App.model.PurchaseHistory;
-import com.example.Assets.Management.App.repository.AssetRepository;
 import com.example.Assets.Management.App.repository.PurchaseHistoryRepository;
+import com.example.Assets.Management.App.repository.projection.AssetLatestPurchaseView;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 @Service
 public class AssetValuationService {
     
-    private final AssetRepository assetRepository;
     private final PurchaseHistoryRepository purchaseHistoryRepository;
     private final DepreciationService depreciationService;
+    private final ForkJoinPool valuationPool;
     
-    public AssetValuationService(AssetRepository assetRepository, 
-                                PurchaseHistoryRepository purchaseHistoryRepository,
-                                DepreciationService depreciationService) {
-        this.assetRepository = assetRepository;
+    // Upper bound on purchases valued by one task, so one large category still spreads across workers
+    private static final int PARTITION_SIZE = 2048;
+    
+    public AssetValuationService(PurchaseHistoryRepository purchaseHistoryRepository,
+                                DepreciationService depreciationService,
+                                ForkJoinPool valuationPool) {
         this.purchaseHistoryRepository = purchaseHistoryRepository;
         this.depreciationService = depreciationService;
+        this.valuationPool = valuationPool;
     }
     
     /**
      * Get asset valuations for a specific financial year
      */
-    public FinancialYearSummaryDTO getAssetValuationsForFinancialYear(String financialYear) {
-        // Get all assets with their purchase histories
-        List<Asset> assets = assetRepository.findAll();
-        List<AssetValuationDTO> assetValuations = new ArrayList<>();
-        
-        double totalPurchaseValue = 0.0;
-        double totalCurrentValue = 0.0;
-        double totalDepreciation = 0.0;
-        
-        for (Asset asset : assets) {
-            // Get the latest purchase history for this asset
-            List<PurchaseHistory> purchaseHistories = purchaseHistoryRepository.findByAssetId(asset.getId());
-            if (!purchaseHistories.isEmpty()) {
-                PurchaseHistory latestPurchase = purchaseHistories.get(0); // Assuming sorted by date desc
-                
-                AssetValuationDTO valuation = calculateAssetValuation(asset, latestPurchase, financialYear);
-                assetValuations.add(valuation);
-                
-                // Add to totals
-                totalPurchaseValue += valuation.getPurchasePrice();
-                totalCurrentValue += valuation.getCurrentValue();
-                totalDepreciation += valuation.getTotalDepreciation();
-            }
-        }
-        
-        FinancialYearSummaryDTO summary = new FinancialYearSummaryDTO();
-        summary.setFinancialYear(financialYear);
-        summary.setTotalPurchaseValue(totalPurchaseValue);
-        summary.setTotalCurrentValue(totalCurrentValue);
-        summary.setTotalDepreciation(totalDepreciation);
-        summary.setAssets(assetValuations);
-        
-        return summary;
+    public FinancialYearSummaryDTO getAssetValuationsForFinancialYear(FinancialYear financialYear) {
+        return getAssetValuationsForFinancialYears(List.of(financialYear)).get(0);
     }
     
     /**
      * Get asset valuations for multiple financial years
+     * Purchases are valued in parallel per category partition, then each year's summary is assembled
+     * in parallel; totals are summed in asset order, so results do not depend on scheduling.
      */
-    public List<FinancialYearSummaryDTO> getAssetValuationsForFinancialYears(List<String> financialYears) {
+    public List<FinancialYearSummaryDTO> getAssetValuationsForFinancialYears(List<FinancialYear> financialYears) {
+        List<FinancialYear> years = new ArrayList<>(new TreeSet<>(financialYears));
+        List<AssetLatestPurchaseView> latest = purchaseHistoryRepository.findLatestPurchasePerAsset();
+        ScheduledValues values = valueByCategory(latest, years);
+        
+        List<Callable<FinancialYearSummaryDTO>> yearTasks = new ArrayList<>(years.size());
+        for (int k = 0; k < years.size(); k++) {
+            int year = k;
+            yearTasks.add(() -> buildSummary(years.get(year), latest, values, year));
+        }
+        List<FinancialYearSummaryDTO> built = invokeAll(yearTasks);
+        
+        Map<FinancialYear, FinancialYearSummaryDTO> summaries = new HashMap<>();
+        for (int k = 0; k < years.size(); k++) {
+            summaries.put(years.get(k), built.get(k));
+        }
         return financialYears.stream()
-                .map(this::getAssetValuationsForFinancialYear)
+                .map(summaries::get)
                 .collect(Collectors.toList());
     }
     
     /**
      * Get asset valuations for a range of financial years
      */
-    public List<FinancialYearSummaryDTO> getAssetValuationsForYearRange(String startYear, String endYear) {
-        List<String> years = generateFinancialYearRange(startYear, endYear);
+    public List<FinancialYearSummaryDTO> getAssetValuationsForYearRange(FinancialYear startYear, FinancialYear endYear) {
+        List<FinancialYear> years = FinancialYear.range(startYear, endYear);
         return getAssetValuationsForFinancialYears(years);
     }
     
     /**
-     * Calculate valuation for a single asset
+     * Get the year-by-year depreciation schedule (opening value, depreciation, closing value) of every asset
+     * over a range of financial years. Years that end before an asset was bought are left out of its schedule.
      */
-    private AssetValuationDTO calculateAssetValuation(Asset asset, PurchaseHistory purchaseHistory, String financialYear) {
-        AssetValuationDTO valuation = new AssetValuationDTO();
-        
-        valuation.setAssetId(asset.getId());
-        valuation.setAssetName(asset.getName());
-        valuation.setCategoryName(asset.getCategory().getName());
-        valuation.setPurchaseDate(purchaseHistory.getPurchaseDate());
-        valuation.setPurchaseFinancialYear(depreciationService.getFinancialYear(purchaseHistory.getPurchaseDate()));
-        valuation.setPurchasePrice(purchaseHistory.getPurchasePrice());
-        
-        // Calculate current value and depreciation
-        double currentValue = depreciationService.getCurrentValue(
-            purchaseHistory.getPurchasePrice(), 
-            purchaseHistory.getPurchaseDate(), 
-            asset.getCategory().getId(), 
-            getFinancialYearEndDate(financialYear)
-        );
+    public List<AssetDepreciationScheduleDTO> getDepreciationSchedule(FinancialYear startYear, FinancialYear endYear) {
+        List<FinancialYear> years = FinancialYear.range(startYear, endYear);
+        List<AssetLatestPurchaseView> latest = purchaseHistoryRepository.findLatestPurchasePerAsset();
+        ScheduledValues values = valueByCategory(latest, years);
         
-        double totalDepreciation = purchaseHistory.getPurchasePrice() - currentValue;
+        List<AssetDepreciationScheduleDTO> result = new ArrayList<>(latest.size());
+        for (int i = 0; i < latest.size(); i++) {
+            AssetLatestPurchaseView purchase = latest.get(i);
+            
+            AssetDepreciationScheduleDTO dto = new AssetDepreciationScheduleDTO();
+            dto.setAssetId(purchase.getAssetId());
+            dto.setAssetName(purchase.getAssetName());
+            dto.setCategoryName(purchase.getCategoryName());
+            dto.setPurchaseDate(purchase.getPurchaseDate());
+            dto.setPurchaseFinancialYear(values.purchaseFinancialYears[i]);
+            dto.setPurchasePrice(purchase.getPurchasePrice());
+            if (values.applicableRates[i] != null) {
+                dto.setDepreciationMethod(values.applicableRates[i].getDepreciationMethod());
+                dto.setDepreciationRate(values.applicableRates[i].getDepreciationPercentage());
+            }
+            
+            long purchaseDay = purchase.getPurchaseDate().toEpochDay();
+            List<FinancialYearDepreciationDTO> rows = new ArrayList<>(years.size());
+            for (int k = 0; k < years.size(); k++) {
+                if (years.get(k).getEndEpochDay() < purchaseDay) {
+                    continue;
+                }
+                FinancialYearDepreciationDTO row = new FinancialYearDepreciationDTO();
+                row.setFinancialYear(years.get(k).toString());
+                row.setOpeningValue(values.openingValues[k][i]);
+                row.setDepreciation(values.openingValues[k][i] - values.closingValues[k][i]);
+                row.setClosingValue(values.closingValues[k][i]);
+                rows.add(row);
+            }
+            dto.setYears(rows);
+            result.add(dto);
+        }
+        return result;
+    }
+    
+    /**
+     * Value every latest purchase for every year on the valuation pool, one task per category partition.
+     * Each task writes only its own rows, so the merged arrays are identical however tasks are scheduled.
+     */
+    private ScheduledValues valueByCategory(List<AssetLatestPurchaseView> latest, List<FinancialYear> years) {
+        ScheduledValues values = new ScheduledValues(latest.size(), years.size());
         
-        valuation.setCurrentValue(currentValue);
-        valuation.setTotalDepreciation(totalDepreciation);
+        Map<Long, List<Integer>> rowsByCategory = new LinkedHashMap<>();
+        for (int i = 0; i < latest.size(); i++) {
+            rowsByCategory.computeIfAbsent(latest.get(i).getCategoryId(), id -> new ArrayList<>()).add(i);
+        }
         
-        // Calculate depreciation for this specific year
-        double depreciationThisYear = depreciationService.calculateDepreciation(
-            purchaseHistory.getPurchasePrice(),
-            purchaseHistory.getPurchaseDate(),
-            asset.getCategory().getId(),
-            getFinancialYearEndDate(financialYear)
-        );
-        valuation.setDepreciationThisYear(depreciationThisYear);
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (List<Integer> categoryRows : rowsByCategory.values()) {
+            for (int from = 0; from < categoryRows.size(); from += PARTITION_SIZE) {
+                int[] rows = categoryRows.subList(from, Math.min(from + PARTITION_SIZE, categoryRows.size()))
+                        .stream().mapToInt(Integer::intValue).toArray();
+                tasks.add(() -> {
+                    valuePartition(latest, years, rows, values);
+                    return null;
+                });
+            }
+        }
+        invokeAll(tasks);
+        return values;
+    }
+    
+    private void valuePartition(List<AssetLatestPurchaseView> latest, List<FinancialYear> years, int[] rows, ScheduledValues values) {
+        int n = rows.length;
+        double[] purchasePrices = new double[n];
+        int[] purchaseDays = new int[n];
+        long[] categoryIds = new long[n];
+        for (int j = 0; j < n; j++) {
+            AssetLatestPurchaseView purchase = latest.get(rows[j]);
+            purchasePrices[j] = purchase.getPurchasePrice();
+            purchaseDays[j] = (int) purchase.getPurchaseDate().toEpochDay();
+            categoryIds[j] = purchase.getCategoryId();
+        }
+        DepreciationSchedule schedule = depreciationService.scheduleBatch(purchasePrices, purchaseDays, categoryIds, years);
         
-        // Get depreciation method and rate
-        var rateOpt = depreciationService.getApplicableRate(
-            asset.getCategory().getId(), 
-            purchaseHistory.getPurchaseDate()
-        );
+        for (int j = 0; j < n; j++) {
+            int row = rows[j];
+            LocalDate purchaseDate = latest.get(row).getPurchaseDate();
+            values.purchaseFinancialYears[row] = FinancialYear.of(purchaseDate).toString();
+            // Get depreciation method and rate
+            values.applicableRates[row] = depreciationService.getApplicableRateSegment(categoryIds[j], purchaseDate).orElse(null);
+            for (int k = 0; k < years.size(); k++) {
+                values.openingValues[k][row] = schedule.openingValue(j, k);
+                values.closingValues[k][row] = schedule.closingValue(j, k);
+            }
+        }
+    }
+    
+    private FinancialYearSummaryDTO buildSummary(FinancialYear financialYear, List<AssetLatestPurchaseView> latest,
+                                                 ScheduledValues values, int year) {
+        List<AssetValuationDTO> assetValuations = new ArrayList<>(latest.size());
+        double totalPurchaseValue = 0.0;
+        double totalCurrentValue = 0.0;
+        double totalDepreciation = 0.0;
         
-        if (rateOpt.isPresent()) {
-            var rate = rateOpt.get();
-            valuation.setDepreciationMethod(rate.getDepreciationMethod());
-            valuation.setDepreciationRate(rate.getDepreciationPercentage());
+        for (int i = 0; i < latest.size(); i++) {
+            AssetValuationDTO valuation = calculateAssetValuation(latest.get(i),
+                values.closingValues[year][i], values.openingValues[year][i] - values.closingValues[year][i]);
+            valuation.setPurchaseFinancialYear(values.purchaseFinancialYears[i]);
+            if (values.applicableRates[i] != null) {
+                valuation.setDepreciationMethod(values.applicableRates[i].getDepreciationMethod());
+                valuation.setDepreciationRate(values.applicableRates[i].getDepreciationPercentage());
+            }
+            assetValuations.add(valuation);
+            
+            // Add to totals
+            totalPurchaseValue += valuation.getPurchasePrice();
+            totalCurrentValue += valuation.getCurrentValue();
+            totalDepreciation += valuation.getTotalDepreciation();
         }
         
-        return valuation;
+        FinancialYearSummaryDTO summary = new FinancialYearSummaryDTO();
+        summary.setFinancialYear(financialYear.toString());
+        summary.setTotalPurchaseValue(totalPurchaseValue);
+        summary.setTotalCurrentValue(totalCurrentValue);
+        summary.setTotalDepreciation(totalDepreciation);
+        summary.setAssets(assetValuations);
+        
+        return summary;
     }
     
     /**
-     * Generate a list of financial years between start and end
+     * Calculate valuation for a single asset from its scheduled value at the financial year end
      */
-    private List<String> generateFinancialYearRange(String startYear, String endYear) {
-        List<String> years = new ArrayList<>();
+    private AssetValuationDTO calculateAssetValuation(AssetLatestPurchaseView purchase,
+                                                      double currentValue, double depreciationThisYear) {
+        AssetValuationDTO valuation = new AssetValuationDTO();
         
-        String[] startParts = startYear.split("-");
-        String[] endParts = endYear.split("-");
+        valuation.setAssetId(purchase.getAssetId());
+        valuation.setAssetName(purchase.getAssetName());
+        valuation.setCategoryName(purchase.getCategoryName());
+        valuation.setPurchaseDate(purchase.getPurchaseDate());
+        valuation.setPurchasePrice(purchase.getPurchasePrice());
         
-        int startFY = Integer.parseInt(startParts[0]);
-        int endFY = Integer.parseInt(endParts[0]);
+        double totalDepreciation = purchase.getPurchasePrice() - currentValue;
         
-        for (int year = startFY; year <= endFY; year++) {
-            years.add(year + "-" + String.format("%02d", (year + 1) % 100));
-        }
+        valuation.setCurrentValue(currentValue);
+        valuation.setTotalDepreciation(totalDepreciation);
+        valuation.setDepreciationThisYear(depreciationThisYear);
         
-        return years;
+        return valuation;
     }
     
     /**
-     * Get the end date of a financial year (March 31st)
+     * Run tasks on the valuation pool and return their results in task order.
      */
-    private LocalDate getFinancialYearEndDate(String financialYear) {
-        String[] parts = financialYear.split("-");
-        int year = Integer.parseInt(parts[0]);
-        return LocalDate.of(year + 1, 3, 31);
+    private <T> List<T> invokeAll(List<Callable<T>> tasks) {
+        try {
+            List<T> results = new ArrayList<>(tasks.size());
+            for (Future<T> future : valuationPool.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Asset valuation was interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Asset valuation failed", e.getCause());
+        }
     }
-
+    
+    /** Per-row valuation results, indexed [year][row] for the values. */
+    private static final class ScheduledValues {
+        final double[][] openingValues;
+        final double[][] closingValues;
+        final String[] purchaseFinancialYears;
+        final RateSegment[] applicableRates;
+        
+        ScheduledValues(int rows, int years) {
+            this.openingValues = new double[years][rows];
+            this.closingValues = new double[years][rows];
+            this.purchaseFinancialYears = new String[rows];
+            this.applicableRates = new RateSegment[rows];
+        }
+    }
+    
     public double getTotalPurchaseValue() {
         return purchaseHistoryRepository.findAll().stream()
             .mapToDouble(PurchaseHistory::getPurchasePrice)
@@ -167,14 +272,8 @@ public class AssetValuationService {
     }
 
     public double getTotalLatestPurchaseValue() {
-        Map<Long, Optional<PurchaseHistory>> latestByAsset = purchaseHistoryRepository.findAll().stream()
-            .collect(Collectors.groupingBy(
-                ph -> ph.getAsset().getId(),
-                Collectors.maxBy(Comparator.comparing(PurchaseHistory::getPurchaseDate))
-            ));
-        return latestByAsset.values().stream()
-            .filter(Optional::isPresent)
-            .mapToDouble(opt -> opt.get().getPurchasePrice())
+        return purchaseHistoryRepository.findLatestPurchasePerAsset().stream()
+            .mapToDouble(AssetLatestPurchaseView::getPurchasePrice)
             .sum();
     }
 }
\ No newline at end of file
@@ -0,0 +1,256 @@
+package com.example.Assets.Management.App.service;
+
+import com.example.Assets.Management.App.Enums.ValuationStreamFormat;
+import com.example.Assets.Management.App.dto.responseDto.AssetValuationDTO;
+import com.example.Assets.Management.App.dto.responseDto.FinancialYearTotalsDTO;
+import com.example.Assets.Management.App.model.FinancialYear;
+import com.example.Assets.Management.App.repository.PurchaseHistoryRepository;
+import com.example.Assets.Management.App.repository.projection.AssetLatestPurchaseView;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Streams one financial year's asset valuations straight to an output stream as NDJSON or CSV.
+ * Purchases are read through a database cursor and valued in fixed-size chunks, so memory stays
+ * bounded by the chunk size however many assets there are; running totals go in a trailer record.
+ */
+@Service
+public class AssetValuationStreamService {
+
+    private static final int CHUNK_SIZE = 500;
+
+    private static final String CSV_HEADER = "assetId,assetName,categoryName,purchaseDate,purchaseFinancialYear,"
+            + "purchasePrice,currentValue,totalDepreciation,depreciationThisYear,depreciationMethod,depreciationRate";
+
+    private final PurchaseHistoryRepository purchaseHistoryRepository;
+    private final DepreciationService depreciationService;
+    private final ObjectMapper objectMapper;
+
+    public AssetValuationStreamService(PurchaseHistoryRepository purchaseHistoryRepository,
+                                       DepreciationService depreciationService,
+                                       ObjectMapper objectMapper) {
+        this.purchaseHistoryRepository = purchaseHistoryRepository;
+        this.depreciationService = depreciationService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Write every asset's valuation at the end of the financial year, followed by one totals record.
+     * The transaction keeps the cursor open while rows are written.
+     */
+    @Transactional(readOnly = true)
+    public void writeValuations(FinancialYear financialYear, ValuationStreamFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        RowWriter rowWriter = format == ValuationStreamFormat.CSV ? new CsvRowWriter(writer) : new NdjsonRowWriter(writer);
+        FinancialYearTotalsDTO totals = newTotals(financialYear);
+
+        rowWriter.begin();
+        List<AssetLatestPurchaseView> chunk = new ArrayList<>(CHUNK_SIZE);
+        try (Stream<AssetLatestPurchaseView> purchases = purchaseHistoryRepository.streamLatestPurchasePerAsset()) {
+            purchases.forEach(purchase -> {
+                chunk.add(purchase);
+                if (chunk.size() == CHUNK_SIZE) {
+                    writeChunk(financialYear, chunk, rowWriter, totals);
+                    chunk.clear();
+                }
+            });
+        }
+        writeChunk(financialYear, chunk, rowWriter, totals);
+        rowWriter.end(totals);
+        writer.flush();
+    }
+
+    private void writeChunk(FinancialYear financialYear, List<AssetLatestPurchaseView> chunk,
+                            RowWriter rowWriter, FinancialYearTotalsDTO totals) {
+        int n = chunk.size();
+        if (n == 0) {
+            return;
+        }
+        double[] purchasePrices = new double[n];
+        int[] purchaseDays = new int[n];
+        long[] categoryIds = new long[n];
+        for (int i = 0; i < n; i++) {
+            AssetLatestPurchaseView purchase = chunk.get(i);
+            purchasePrices[i] = purchase.getPurchasePrice();
+            purchaseDays[i] = (int) purchase.getPurchaseDate().toEpochDay();
+            categoryIds[i] = purchase.getCategoryId();
+        }
+        DepreciationSchedule schedule = depreciationService.scheduleBatch(
+                purchasePrices, purchaseDays, categoryIds, List.of(financialYear));
+
+        try {
+            for (int i = 0; i < n; i++) {
+                AssetValuationDTO valuation = toValuation(chunk.get(i), schedule.closingValue(i, 0), schedule.depreciation(i, 0));
+                rowWriter.row(valuation);
+
+                totals.setAssetCount(totals.getAssetCount() + 1);
+                totals.setTotalPurchaseValue(totals.getTotalPurchaseValue() + valuation.getPurchasePrice());
+                totals.setTotalCurrentValue(totals.getTotalCurrentValue() + valuation.getCurrentValue());
+                totals.setTotalDepreciation(totals.getTotalDepreciation() + valuation.getTotalDepreciation());
+                totals.setTotalDepreciationThisYear(totals.getTotalDepreciationThisYear() + valuation.getDepreciationThisYear());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private AssetValuationDTO toValuation(AssetLatestPurchaseView purchase, double currentValue, double depreciationThisYear) {
+        AssetValuationDTO valuation = new AssetValuationDTO();
+        valuation.setAssetId(purchase.getAssetId());
+        valuation.setAssetName(purchase.getAssetName());
+        valuation.setCategoryName(purchase.getCategoryName());
+        valuation.setPurchaseDate(purchase.getPurchaseDate());
+        valuation.setPurchaseFinancialYear(FinancialYear.of(purchase.getPurchaseDate()).toString());
+        valuation.setPurchasePrice(purchase.getPurchasePrice());
+        valuation.setCurrentValue(currentValue);
+        valuation.setTotalDepreciation(purchase.getPurchasePrice() - currentValue);
+        valuation.setDepreciationThisYear(depreciationThisYear);
+        depreciationService.getApplicableRateSegment(purchase.getCategoryId(), purchase.getPurchaseDate())
+                .ifPresent(rate -> {
+                    valuation.setDepreciationMethod(rate.getDepreciationMethod());
+                    valuation.setDepreciationRate(rate.getDepreciationPercentage());
+                });
+        return valuation;
+    }
+
+    private FinancialYearTotalsDTO newTotals(FinancialYear financialYear) {
+        FinancialYearTotalsDTO totals = new FinancialYearTotalsDTO();
+        totals.setFinancialYear(financialYear.toString());
+        totals.setAssetCount(0L);
+        totals.setTotalPurchaseValue(0.0);
+        totals.setTotalCurrentValue(0.0);
+        totals.setTotalDepreciation(0.0);
+        totals.setTotalDepreciationThisYear(0.0);
+        return totals;
+    }
+
+    private interface RowWriter {
+        void begin() throws IOException;
+
+        void row(AssetValuationDTO valuation) throws IOException;
+
+        void end(FinancialYearTotalsDTO totals) throws IOException;
+    }
+
+    /** One JSON object per line; the last line is the totals record. */
+    private final class NdjsonRowWriter implements RowWriter {
+        private final Writer writer;
+        private final JsonGenerator generator;
+
+        NdjsonRowWriter(Writer writer) throws IOException {
+            this.writer = writer;
+            this.generator = objectMapper.getFactory().createGenerator(writer);
+            // Leave closing and flushing the response to the caller; rows are separated by newlines only
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+            generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void begin() {
+        }
+
+        @Override
+        public void row(AssetValuationDTO valuation) throws IOException {
+            objectMapper.writeValue(generator, valuation);
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void end(FinancialYearTotalsDTO totals) throws IOException {
+            objectMapper.writeValue(generator, totals);
+            generator.writeRaw('\n');
+            generator.flush();
+            writer.flush();
+        }
+    }
+
+    /** Header, one row per asset, then a TOTAL row with the running totals in the value columns. */
+    private static final class CsvRowWriter implements RowWriter {
+        private final Writer writer;
+
+        CsvRowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void begin() throws IOException {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        @Override
+        public void row(AssetValuationDTO valuation) throws IOException {
+            writer.write(String.valueOf(valuation.getAssetId()));
+            writer.write(',');
+            writeText(valuation.getAssetName());
+            writer.write(',');
+            writeText(valuation.getCategoryName());
+            writer.write(',');
+            writer.write(String.valueOf(valuation.getPurchaseDate()));
+            writer.write(',');
+            writer.write(valuation.getPurchaseFinancialYear());
+            writer.write(',');
+            writer.write(String.valueOf(valuation.getPurchasePrice()));
+            writer.write(',');
+            writer.write(String.valueOf(valuation.getCurrentValue()));
+            writer.write(',');
+            writer.write(String.valueOf(valuation.getTotalDepreciation()));
+            writer.write(',');
+            writer.write(String.valueOf(valuation.getDepreciationThisYear()));
+            writer.write(',');
+            if (valuation.getDepreciationMethod() != null) {
+                writer.write(valuation.getDepreciationMethod().name());
+            }
+            writer.write(',');
+            if (valuation.getDepreciationRate() != null) {
+                writer.write(String.valueOf(valuation.getDepreciationRate()));
+            }
+            writer.write('\n');
+        }
+
+        @Override
+        public void end(FinancialYearTotalsDTO totals) throws IOException {
+            writer.write("TOTAL,");
+            writeText(totals.getAssetCount() + " assets");
+            writer.write(",,,");
+            writer.write(totals.getFinancialYear());
+            writer.write(',');
+            writer.write(String.valueOf(totals.getTotalPurchaseValue()));
+            writer.write(',');
+            writer.write(String.valueOf(totals.getTotalCurrentValue()));
+            writer.write(',');
+            writer.write(String.valueOf(totals.getTotalDepreciation()));
+            writer.write(',');
+            writer.write(String.valueOf(totals.getTotalDepreciationThisYear()));
+            writer.write(",,\n");
+            writer.flush();
+        }
+
+        private void writeText(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.Assets.Management.App.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Result of DepreciationService.valueBatch: index-aligned with the input rows.
+ */
+@Getter
+@AllArgsConstructor
+public final class BatchValuation {
+    private final double[] currentValues;
+    private final double[] depreciation;
+
+    public int size() {
+        return currentValues.length;
+    }
+}
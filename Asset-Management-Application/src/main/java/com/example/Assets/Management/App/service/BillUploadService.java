@@ -0,0 +1,274 @@
+package com.example.Assets.Management.App.service;
+
+import com.example.Assets.Management.App.Enums.BillStatus;
+import com.example.Assets.Management.App.Enums.BillUploadTaskStatus;
+import com.example.Assets.Management.App.Enums.BlobFolder;
+import com.example.Assets.Management.App.model.BillUploadTask;
+import com.example.Assets.Management.App.model.PurchaseHistory;
+import com.example.Assets.Management.App.repository.BillUploadTaskRepository;
+import com.example.Assets.Management.App.repository.PurchaseHistoryRepository;
+import com.example.Assets.Management.App.storage.BlobStore;
+import com.example.Assets.Management.App.storage.StoredBlob;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Bill PDFs are uploaded through an outbox instead of inside the request: the request stages the file on
+ * local disk and queues a BillUploadTask in the purchase's own transaction, and uploadDue() (run by
+ * BillUploadScheduler) pushes it to the BlobStore, then patches billUrl/billPublicId and removes the bill it
+ * replaced. Failed uploads are retried with exponential backoff up to a maximum number of attempts.
+ */
+@Service
+public class BillUploadService {
+    private static final Logger logger = LoggerFactory.getLogger(BillUploadService.class);
+
+    private final BillUploadTaskRepository billUploadTaskRepository;
+    private final PurchaseHistoryRepository purchaseHistoryRepository;
+    private final BlobStore blobStore;
+    private final TransactionTemplate transactionTemplate;
+    private final Path stagingDirectory;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+
+    public BillUploadService(BillUploadTaskRepository billUploadTaskRepository,
+                             PurchaseHistoryRepository purchaseHistoryRepository,
+                             BlobStore blobStore,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${bill.upload.staging-dir:${user.home}/asset-bills/staging}") String stagingDirectory,
+                             @Value("${bill.upload.batch-size:20}") int batchSize,
+                             @Value("${bill.upload.max-attempts:8}") int maxAttempts,
+                             @Value("${bill.upload.initial-backoff-ms:5000}") long initialBackoffMs,
+                             @Value("${bill.upload.max-backoff-ms:3600000}") long maxBackoffMs) {
+        this.billUploadTaskRepository = billUploadTaskRepository;
+        this.purchaseHistoryRepository = purchaseHistoryRepository;
+        this.blobStore = blobStore;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.stagingDirectory = Paths.get(stagingDirectory).toAbsolutePath();
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMs = initialBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+    }
+
+    @PostConstruct
+    public void prepareStagingDirectory() throws IOException {
+        Files.createDirectories(stagingDirectory);
+    }
+
+    /**
+     * Check the bill is a PDF and copy it to the staging directory.
+     */
+    public Path stage(MultipartFile file) {
+        // Only accept PDF
+        if (!"application/pdf".equals(file.getContentType())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Only PDF files are allowed");
+        }
+        Path staged = stagingDirectory.resolve(UUID.randomUUID() + ".pdf");
+        try {
+            file.transferTo(staged);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to stage bill PDF", e);
+        }
+        return staged;
+    }
+
+    /**
+     * Queue the staged bill of a purchase in the caller's transaction and mark the purchase PENDING.
+     * Any bill still queued for the purchase is superseded. If the transaction rolls back, the staged
+     * file is deleted.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(PurchaseHistory purchase, Path staged) {
+        deleteAfterRollback(staged);
+        supersedePending(purchase.getId());
+
+        LocalDateTime now = LocalDateTime.now();
+        billUploadTaskRepository.save(BillUploadTask.builder()
+                .purchaseHistoryId(purchase.getId())
+                .stagedPath(staged.toString())
+                .previousPublicId(purchase.getBillPublicId())
+                .status(BillUploadTaskStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build());
+        purchase.setBillStatus(BillStatus.PENDING);
+    }
+
+    /**
+     * Drop the queued uploads of a purchase, e.g. because it is being deleted.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void cancel(Long purchaseHistoryId) {
+        supersedePending(purchaseHistoryId);
+    }
+
+    /**
+     * Upload every task that is due, oldest first, in batches. Uploads run outside any transaction;
+     * each result is recorded in a short transaction of its own.
+     */
+    public int uploadDue() {
+        int uploaded = 0;
+        List<BillUploadTask> due;
+        do {
+            due = billUploadTaskRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByNextAttemptAtAsc(
+                    BillUploadTaskStatus.PENDING, LocalDateTime.now(), Limit.of(batchSize));
+            for (BillUploadTask task : due) {
+                if (upload(task)) {
+                    uploaded++;
+                }
+            }
+        } while (due.size() == batchSize);
+        return uploaded;
+    }
+
+    private boolean upload(BillUploadTask task) {
+        Path staged = Paths.get(task.getStagedPath());
+        StoredBlob stored;
+        try {
+            stored = blobStore.store(BlobFolder.BILL,
+                    "bill_" + task.getPurchaseHistoryId() + "_" + System.currentTimeMillis(),
+                    new FileSystemResource(staged), null);
+        } catch (Exception e) {
+            recordFailure(task, e);
+            return false;
+        }
+        String billUrl = stored.url();
+        String billPublicId = stored.id();
+
+        // Only the upload that is still current may patch the purchase; one superseded meanwhile is thrown away
+        Boolean current = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            if (billUploadTaskRepository.transition(task.getId(), BillUploadTaskStatus.PENDING, BillUploadTaskStatus.DONE, now) == 0) {
+                return false;
+            }
+            if (purchaseHistoryRepository.updateBill(task.getPurchaseHistoryId(), billUrl, billPublicId, BillStatus.UPLOADED) == 0) {
+                status.setRollbackOnly(); // the purchase was deleted; treat like a superseded upload
+                return false;
+            }
+            return true;
+        });
+        if (Boolean.TRUE.equals(current)) {
+            destroyQuietly(task.getPreviousPublicId());
+        } else {
+            destroyQuietly(billPublicId);
+            transactionTemplate.executeWithoutResult(status -> billUploadTaskRepository.transition(
+                    task.getId(), BillUploadTaskStatus.PENDING, BillUploadTaskStatus.SUPERSEDED, LocalDateTime.now()));
+        }
+        deleteQuietly(staged);
+        return Boolean.TRUE.equals(current);
+    }
+
+    private void recordFailure(BillUploadTask task, Exception e) {
+        int attempts = task.getAttempts() + 1;
+        boolean giveUp = attempts >= maxAttempts;
+        String error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+        transactionTemplate.executeWithoutResult(status -> {
+            BillUploadTask current = billUploadTaskRepository.findById(task.getId()).orElse(null);
+            if (current == null || current.getStatus() != BillUploadTaskStatus.PENDING) {
+                return;
+            }
+            current.setAttempts(attempts);
+            current.setLastError(error.length() > 1000 ? error.substring(0, 1000) : error);
+            current.setUpdatedAt(LocalDateTime.now());
+            if (giveUp) {
+                // The staged file is kept so the bill can still be recovered by hand
+                current.setStatus(BillUploadTaskStatus.FAILED);
+                purchaseHistoryRepository.updateBillStatus(current.getPurchaseHistoryId(), BillStatus.FAILED);
+            } else {
+                current.setNextAttemptAt(LocalDateTime.now().plus(backoffMs(attempts), ChronoUnit.MILLIS));
+            }
+        });
+        if (giveUp) {
+            logger.error("Bill upload for purchase {} failed after {} attempts, file kept at {}: {}",
+                    task.getPurchaseHistoryId(), attempts, task.getStagedPath(), error);
+        } else {
+            logger.warn("Bill upload for purchase {} failed (attempt {}), will retry: {}",
+                    task.getPurchaseHistoryId(), attempts, error);
+        }
+    }
+
+    /** Exponential backoff from the initial delay, capped, with up to 20% jitter so retries spread out. */
+    private long backoffMs(int attempts) {
+        long delay = initialBackoffMs << Math.min(attempts - 1, 30);
+        if (delay <= 0 || delay > maxBackoffMs) {
+            delay = maxBackoffMs;
+        }
+        return delay + ThreadLocalRandom.current().nextLong(delay / 5 + 1);
+    }
+
+    private void supersedePending(Long purchaseHistoryId) {
+        LocalDateTime now = LocalDateTime.now();
+        for (BillUploadTask task : billUploadTaskRepository.findByPurchaseHistoryIdAndStatus(purchaseHistoryId, BillUploadTaskStatus.PENDING)) {
+            if (billUploadTaskRepository.transition(task.getId(), BillUploadTaskStatus.PENDING, BillUploadTaskStatus.SUPERSEDED, now) == 1) {
+                deleteAfterCommit(Paths.get(task.getStagedPath()));
+            }
+        }
+    }
+
+    private void destroyQuietly(String publicId) {
+        // A content-addressed store hands out the same id for the same PDF, so it may still be in use
+        if (publicId == null || purchaseHistoryRepository.existsByBillPublicId(publicId)) {
+            return;
+        }
+        try {
+            blobStore.delete(BlobFolder.BILL, publicId);
+        } catch (Exception e) {
+            logger.warn("Could not delete bill {} from storage: {}", publicId, e.getMessage());
+        }
+    }
+
+    private static void deleteAfterCommit(Path file) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                deleteQuietly(file);
+            }
+        });
+    }
+
+    private static void deleteAfterRollback(Path file) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    deleteQuietly(file);
+                }
+            }
+        });
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Could not delete staged bill {}: {}", file, e.getMessage());
+        }
+    }
+}
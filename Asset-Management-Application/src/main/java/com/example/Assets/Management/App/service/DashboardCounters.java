@@ -0,0 +1,200 @@
+package com.example.Assets.Management.App.service;
+
+import com.example.Assets.Management.App.Enums.AssetStatus;
+import com.example.Assets.Management.App.event.AssetChangedEvent;
+import com.example.Assets.Management.App.event.AssetState;
+import com.example.Assets.Management.App.event.PurchaseChangedEvent;
+import com.example.Assets.Management.App.event.PurchaseState;
+import com.example.Assets.Management.App.repository.DashboardStatsRepository;
+import com.example.Assets.Management.App.repository.projection.CategoryStatusCountView;
+import com.example.Assets.Management.App.repository.projection.ExpiryDateCountView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory dashboard aggregate: asset counts per (category, status) and notifying purchase
+ * counts per expiry date, held in LongAdders so concurrent updates do not contend.
+ * Rebuilt from the database at startup and on a fixed delay, and kept current in between by
+ * applying asset and purchase events once their transaction commits.
+ */
+@Component
+public class DashboardCounters {
+    private static final Logger logger = LoggerFactory.getLogger(DashboardCounters.class);
+
+    private final DashboardStatsRepository dashboardStatsRepository;
+
+    private volatile Counters counters;
+
+    public DashboardCounters(DashboardStatsRepository dashboardStatsRepository) {
+        this.dashboardStatsRepository = dashboardStatsRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        rebuild();
+    }
+
+    /**
+     * Periodic resync, so a missed or out-of-order event cannot skew the counts for long.
+     */
+    @Scheduled(fixedDelayString = "${dashboard.counters.resync-interval-ms:900000}",
+               initialDelayString = "${dashboard.counters.resync-interval-ms:900000}")
+    public void resync() {
+        rebuild();
+    }
+
+    /**
+     * Recount everything from the database and publish the new counters in one reference swap.
+     */
+    public synchronized void rebuild() {
+        Counters rebuilt = new Counters();
+        for (CategoryStatusCountView count : dashboardStatsRepository.countAssetsByCategoryAndStatus()) {
+            CounterKey key = new CounterKey(count.getCategoryId(), count.getStatus());
+            rebuilt.adder(rebuilt.assets, key).add(count.getTotal());
+            rebuilt.adder(rebuilt.assigned, key).add(count.getAssigned());
+            if (count.getCategoryId() != null && count.getCategoryName() != null) {
+                rebuilt.categoryNames.put(count.getCategoryId(), count.getCategoryName());
+            }
+        }
+        for (ExpiryDateCountView count : dashboardStatsRepository.countNotifyingPurchasesByExpiryDate()) {
+            rebuilt.expiries.computeIfAbsent(count.getExpiryDate(), date -> new LongAdder()).add(count.getTotal());
+        }
+        counters = rebuilt;
+        logger.debug("Dashboard counters rebuilt: {} category/status buckets, {} expiry dates",
+                rebuilt.assets.size(), rebuilt.expiries.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAssetChanged(AssetChangedEvent event) {
+        Counters current = counters;
+        if (current == null) {
+            return; // Not built yet; the first rebuild reads the committed change
+        }
+        if (event.getBefore() != null) {
+            current.addAsset(event.getBefore(), -1);
+        }
+        if (event.getAfter() != null) {
+            current.addAsset(event.getAfter(), 1);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPurchaseChanged(PurchaseChangedEvent event) {
+        Counters current = counters;
+        if (current == null) {
+            return; // Not built yet; the first rebuild reads the committed change
+        }
+        if (event.getBefore() != null) {
+            current.addPurchase(event.getBefore(), -1);
+        }
+        if (event.getAfter() != null) {
+            current.addPurchase(event.getAfter(), 1);
+        }
+    }
+
+    /**
+     * Read the counters; expiring soon means a notifying purchase expiring within a month of today.
+     */
+    public DashboardCounts snapshot(LocalDate today) {
+        Counters current = current();
+        long totalAssets = 0;
+        long assignedAssets = 0;
+        Map<String, Long> byCategory = new TreeMap<>();
+        Map<AssetStatus, Long> byStatus = new EnumMap<>(AssetStatus.class);
+        Map<String, Map<AssetStatus, Long>> byCategoryAndStatus = new TreeMap<>();
+
+        for (Map.Entry<CounterKey, LongAdder> entry : current.assets.entrySet()) {
+            long count = entry.getValue().sum();
+            if (count == 0) {
+                continue;
+            }
+            CounterKey key = entry.getKey();
+            totalAssets += count;
+            LongAdder assigned = current.assigned.get(key);
+            assignedAssets += assigned != null ? assigned.sum() : 0;
+            if (key.status() != null) {
+                byStatus.merge(key.status(), count, Long::sum);
+            }
+            String categoryName = key.categoryId() != null ? current.categoryNames.get(key.categoryId()) : null;
+            if (categoryName != null) {
+                byCategory.merge(categoryName, count, Long::sum);
+                if (key.status() != null) {
+                    byCategoryAndStatus.computeIfAbsent(categoryName, name -> new EnumMap<>(AssetStatus.class))
+                            .merge(key.status(), count, Long::sum);
+                }
+            }
+        }
+
+        long expired = sum(current.expiries.headMap(today, false));
+        long expiringSoon = sum(current.expiries.subMap(today, true, today.plusMonths(1), true));
+
+        return new DashboardCounts(totalAssets, assignedAssets,
+                Collections.unmodifiableMap(byCategory),
+                Collections.unmodifiableMap(byStatus),
+                Collections.unmodifiableMap(byCategoryAndStatus),
+                expiringSoon, expired);
+    }
+
+    private Counters current() {
+        Counters current = counters;
+        if (current == null) {
+            rebuild();
+            current = counters;
+        }
+        return current;
+    }
+
+    private static long sum(ConcurrentNavigableMap<LocalDate, LongAdder> counts) {
+        long total = 0;
+        for (LongAdder count : counts.values()) {
+            total += count.sum();
+        }
+        return total;
+    }
+
+    private record CounterKey(Long categoryId, AssetStatus status) {
+    }
+
+    private static final class Counters {
+        final ConcurrentHashMap<CounterKey, LongAdder> assets = new ConcurrentHashMap<>();
+        final ConcurrentHashMap<CounterKey, LongAdder> assigned = new ConcurrentHashMap<>();
+        final ConcurrentHashMap<Long, String> categoryNames = new ConcurrentHashMap<>();
+        final ConcurrentSkipListMap<LocalDate, LongAdder> expiries = new ConcurrentSkipListMap<>();
+
+        LongAdder adder(ConcurrentHashMap<CounterKey, LongAdder> counts, CounterKey key) {
+            return counts.computeIfAbsent(key, k -> new LongAdder());
+        }
+
+        void addAsset(AssetState state, long delta) {
+            CounterKey key = new CounterKey(state.getCategoryId(), state.getStatus());
+            adder(assets, key).add(delta);
+            if (state.isAssigned()) {
+                adder(assigned, key).add(delta);
+            }
+            if (state.getCategoryId() != null && state.getCategoryName() != null) {
+                categoryNames.put(state.getCategoryId(), state.getCategoryName());
+            }
+        }
+
+        void addPurchase(PurchaseState state, long delta) {
+            if (state.isNotify() && state.getExpiryDate() != null) {
+                expiries.computeIfAbsent(state.getExpiryDate(), date -> new LongAdder()).add(delta);
+            }
+        }
+    }
+}
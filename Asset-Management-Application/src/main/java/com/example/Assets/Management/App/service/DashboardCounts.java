@@ -0,0 +1,29 @@
+package com.example.Assets.Management.App.service;
+
+import com.example.Assets.Management.App.Enums.AssetStatus;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * Point-in-time read of the dashboard counters. Category maps are keyed by category name and
+ * leave out uncategorised assets and zero counts; totals include every asset.
+ */
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor
+public final class DashboardCounts {
+    private final long totalAssets;
+    private final long assignedAssets;
+    private final Map<String, Long> assetsByCategory;
+    private final Map<AssetStatus, Long> assetsByStatus;
+    private final Map<String, Map<AssetStatus, Long>> assetsByCategoryAndStatus;
+    private final long expiringSoon;
+    private final long expired;
+
+    public long getNonAssignedAssets() {
+        return totalAssets - assignedAssets;
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.Assets.Management.App.service;
+
+import com.example.Assets.Management.App.Enums.AssetStatus;
+import com.example.Assets.Management.App.dto.responseDto.DashboardRollupDTO;
+import com.example.Assets.Management.App.model.DashboardDailyRollup;
+import com.example.Assets.Management.App.repository.DashboardDailyRollupRepository;
+import com.example.Assets.Management.App.repository.DashboardStatsRepository;
+import com.example.Assets.Management.App.repository.projection.CategoryStatusCountView;
+import com.example.Assets.Management.App.repository.projection.CategoryValueTotalsView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Writes the dashboard_daily_rollup table (one row per day per category) and serves trend ranges from it.
+ * Counts come from one GROUP BY over asset, values from one GROUP BY over each asset's latest purchase joined
+ * to today's valuation snapshot, so a rollup never runs depreciation itself.
+ */
+@Service
+public class DashboardRollupService {
+    private static final Logger logger = LoggerFactory.getLogger(DashboardRollupService.class);
+
+    // Upper bound on the days one trend request may span
+    private static final long MAX_RANGE_DAYS = 3660;
+
+    private final DashboardDailyRollupRepository rollupRepository;
+    private final DashboardStatsRepository dashboardStatsRepository;
+
+    public DashboardRollupService(DashboardDailyRollupRepository rollupRepository,
+                                  DashboardStatsRepository dashboardStatsRepository) {
+        this.rollupRepository = rollupRepository;
+        this.dashboardStatsRepository = dashboardStatsRepository;
+    }
+
+    /**
+     * Record today's figures, replacing any rows already written for today.
+     * Current values are read from today's valuation snapshot, so run this only after a successful snapshot refresh.
+     */
+    @Transactional
+    public int rollupToday() {
+        LocalDate today = LocalDate.now();
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, DashboardDailyRollup> rows = new HashMap<>();
+
+        for (CategoryStatusCountView count : dashboardStatsRepository.countAssetsByCategoryAndStatus()) {
+            DashboardDailyRollup row = rows.computeIfAbsent(count.getCategoryId(),
+                    id -> newRow(today, id, count.getCategoryName(), now));
+            if (count.getStatus() != null) {
+                addCount(row, count.getStatus(), count.getTotal());
+            }
+        }
+        for (CategoryValueTotalsView totals : rollupRepository.sumValuesByCategory(today)) {
+            DashboardDailyRollup row = rows.get(totals.getCategoryId());
+            if (row == null) {
+                continue;
+            }
+            row.setTotalPurchaseValue(totals.getTotalPurchaseValue() != null ? totals.getTotalPurchaseValue() : 0.0);
+            row.setTotalCurrentValue(totals.getTotalCurrentValue() != null ? totals.getTotalCurrentValue() : 0.0);
+        }
+
+        rollupRepository.deleteByRollupDate(today);
+        rollupRepository.saveAll(rows.values());
+        logger.info("Dashboard rollup written for {}: {} categories", today, rows.size());
+        return rows.size();
+    }
+
+    /**
+     * Rollup rows between two dates (inclusive), for one category or all of them, in date order.
+     */
+    public List<DashboardRollupDTO> getRollups(LocalDate from, LocalDate to, Long categoryId) {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must be on or before to");
+        }
+        if (ChronoUnit.DAYS.between(from, to) > MAX_RANGE_DAYS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Date range must not exceed " + MAX_RANGE_DAYS + " days");
+        }
+        List<DashboardDailyRollup> rows = categoryId != null
+                ? rollupRepository.findByCategoryIdAndRollupDateBetweenOrderByRollupDateAsc(categoryId, from, to)
+                : rollupRepository.findByRollupDateBetweenOrderByRollupDateAscCategoryNameAsc(from, to);
+        return rows.stream().map(this::toDTO).collect(Collectors.toList());
+    }
+
+    private DashboardDailyRollup newRow(LocalDate day, Long categoryId, String categoryName, LocalDateTime createdAt) {
+        return DashboardDailyRollup.builder()
+                .rollupDate(day)
+                .categoryId(categoryId)
+                .categoryName(categoryName)
+                .availableCount(0L)
+                .assignedCount(0L)
+                .inactiveCount(0L)
+                .disposedCount(0L)
+                .stolenCount(0L)
+                .totalPurchaseValue(0.0)
+                .totalCurrentValue(0.0)
+                .createdAt(createdAt)
+                .build();
+    }
+
+    private void addCount(DashboardDailyRollup row, AssetStatus status, long count) {
+        switch (status) {
+            case AVAILABLE -> row.setAvailableCount(row.getAvailableCount() + count);
+            case ASSIGNED -> row.setAssignedCount(row.getAssignedCount() + count);
+            case INACTIVE -> row.setInactiveCount(row.getInactiveCount() + count);
+            case DISPOSED -> row.setDisposedCount(row.getDisposedCount() + count);
+            case STOLEN -> row.setStolenCount(row.getStolenCount() + count);
+        }
+    }
+
+    private DashboardRollupDTO toDTO(DashboardDailyRollup row) {
+        Map<AssetStatus, Long> statusWise = new EnumMap<>(AssetStatus.class);
+        statusWise.put(AssetStatus.AVAILABLE, row.getAvailableCount());
+        statusWise.put(AssetStatus.ASSIGNED, row.getAssignedCount());
+        statusWise.put(AssetStatus.INACTIVE, row.getInactiveCount());
+        statusWise.put(AssetStatus.DISPOSED, row.getDisposedCount());
+        statusWise.put(AssetStatus.STOLEN, row.getStolenCount());
+
+        DashboardRollupDTO dto = new DashboardRollupDTO();
+        dto.setDate(row.getRollupDate());
+        dto.setCategoryId(row.getCategoryId());
+        dto.setCategoryName(row.getCategoryName());
+        dto.setTotalAssets(statusWise.values().stream().mapToLong(Long::longValue).sum());
+        dto.setStatusWise(statusWise);
+        dto.setTotalPurchaseValue(row.getTotalPurchaseValue());
+        dto.setTotalCurrentValue(row.getTotalCurrentValue());
+        return dto;
+    }
+}
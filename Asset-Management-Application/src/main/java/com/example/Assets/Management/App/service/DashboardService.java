@@ -1,13 +1,18 @@
 package com.example.Assets.Management.App.service;
 
 import com.example.Assets.Management.App.dto.responseDto.AssetResponseDTO;
-import com.example.Assets.Management.App.dto.responseDto.PurchaseHistoryResponseDTO;
+import com.example.Assets.Management.App.dto.responseDto.KeysetPageResponse;
+import com.example.Assets.Management.App.model.Asset;
+import com.example.Assets.Management.App.dto.responseDto.ExpiringPurchaseDTO;
 import com.example.Assets.Management.App.repository.AssetRepository;
 import com.example.Assets.Management.App.repository.PurchaseHistoryRepository;
 import com.example.Assets.Management.App.repository.UserRepository;
-import com.example.Assets.Management.App.dto.mapper.PurchaseHistoryMapper;
+import com.example.Assets.Management.App.repository.projection.ExpiringPurchaseView;
 import com.example.Assets.Management.App.dto.mapper.AssetMapper;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDate;
 import java.util.*;
@@ -15,62 +20,73 @@ import java.util.stream.Collectors;
 
 @Service
 public class DashboardService {
+    private static final int MAX_PAGE_SIZE = 200;
+
     private final AssetRepository assetRepository;
     private final UserRepository userRepository;
     private final PurchaseHistoryRepository purchaseHistoryRepository;
-    private final PurchaseHistoryMapper purchaseHistoryMapper;
     private final AssetMapper assetMapper;
+    private final DashboardCounters dashboardCounters;
 
     public DashboardService(AssetRepository assetRepository, UserRepository userRepository,
                            PurchaseHistoryRepository purchaseHistoryRepository,
-                           PurchaseHistoryMapper purchaseHistoryMapper,
-                           AssetMapper assetMapper) {
+                           AssetMapper assetMapper,
+                           DashboardCounters dashboardCounters) {
         this.assetRepository = assetRepository;
         this.userRepository = userRepository;
         this.purchaseHistoryRepository = purchaseHistoryRepository;
-        this.purchaseHistoryMapper = purchaseHistoryMapper;
         this.assetMapper = assetMapper;
+        this.dashboardCounters = dashboardCounters;
     }
 
-    public List<AssetResponseDTO> getAllAssets() {
-        return assetRepository.findAll().stream().map(assetMapper::toResponseDTO).collect(Collectors.toList());
+    public KeysetPageResponse<AssetResponseDTO> getAllAssets(Long cursor, int limit) {
+        int pageSize = pageSize(limit);
+        return toKeysetPage(assetRepository.findByIdGreaterThanOrderByIdAsc(after(cursor), Limit.of(pageSize + 1)), pageSize);
     }
 
-    public List<AssetResponseDTO> getAssignedAssets() {
-        return assetRepository.findAll().stream()
-                .filter(asset -> asset.getAssignedToUser() != null)
-                .map(assetMapper::toResponseDTO)
-                .collect(Collectors.toList());
+    public KeysetPageResponse<AssetResponseDTO> getAssignedAssets(Long cursor, int limit) {
+        int pageSize = pageSize(limit);
+        return toKeysetPage(assetRepository.findByAssignedToUserIsNotNullAndIdGreaterThanOrderByIdAsc(
+                after(cursor), Limit.of(pageSize + 1)), pageSize);
     }
 
-    public List<AssetResponseDTO> getNonAssignedAssets() {
-        return assetRepository.findAll().stream()
-                .filter(asset -> asset.getAssignedToUser() == null)
-                .map(assetMapper::toResponseDTO)
-                .collect(Collectors.toList());
+    public KeysetPageResponse<AssetResponseDTO> getNonAssignedAssets(Long cursor, int limit) {
+        int pageSize = pageSize(limit);
+        return toKeysetPage(assetRepository.findByAssignedToUserIsNullAndIdGreaterThanOrderByIdAsc(
+                after(cursor), Limit.of(pageSize + 1)), pageSize);
     }
 
-    public List<PurchaseHistoryResponseDTO> getExpiringSoon() {
+    public List<ExpiringPurchaseDTO> getExpiringSoon() {
         LocalDate now = LocalDate.now();
         LocalDate oneMonthFromNow = now.plusMonths(1);
-        return purchaseHistoryRepository.findByExpiryDateBetween(now, oneMonthFromNow)
-                .stream()
-                .filter(history -> "Yes".equalsIgnoreCase(history.getNotify()))
-                .map(purchaseHistoryMapper::toResponseDTO)
+        return purchaseHistoryRepository.findNotifyingExpiringBetween(now, oneMonthFromNow).stream()
+                .map(this::toExpiringPurchaseDTO)
                 .collect(Collectors.toList());
     }
 
-    public List<PurchaseHistoryResponseDTO> getExpired() {
-        LocalDate now = LocalDate.now();
-        return purchaseHistoryRepository.findByExpiryDateBefore(now)
-                .stream()
-                .filter(history -> "Yes".equalsIgnoreCase(history.getNotify()))
-                .map(purchaseHistoryMapper::toResponseDTO)
+    public List<ExpiringPurchaseDTO> getExpired() {
+        return purchaseHistoryRepository.findNotifyingExpiredBefore(LocalDate.now()).stream()
+                .map(this::toExpiringPurchaseDTO)
                 .collect(Collectors.toList());
     }
 
+    private ExpiringPurchaseDTO toExpiringPurchaseDTO(ExpiringPurchaseView view) {
+        return ExpiringPurchaseDTO.builder()
+                .id(view.getId())
+                .assetId(view.getAssetId())
+                .assetName(view.getAssetName())
+                .categoryName(view.getCategoryName())
+                .purchaseDate(view.getPurchaseDate())
+                .expiryDate(view.getExpiryDate())
+                .warrantyPeriod(view.getWarrantyPeriod())
+                .invoiceNumber(view.getInvoiceNumber())
+                .vendor(view.getVendorName())
+                .assignedToUserName(view.getAssignedToUserName())
+                .build();
+    }
+
     public long getTotalAssets() {
-        return assetRepository.count();
+        return dashboardCounters.snapshot(LocalDate.now()).getTotalAssets();
     }
 
     public long getTotalUsers() {
@@ -78,39 +94,22 @@ public class DashboardService {
     }
 
     public List<Map<String, Object>> getCategoryWiseAssets() {
-        List<AssetResponseDTO> assets = getAllAssets();
-        Map<String, Long> categoryCount = assets.stream()
-                .collect(Collectors.groupingBy(
-                        AssetResponseDTO::getCategoryName,
-                        Collectors.counting()
-                ));
-        return categoryCount.entrySet().stream()
-                .map(entry -> {
-                    Map<String, Object> category = new HashMap<>();
-                    category.put("category", entry.getKey());
-                    category.put("count", entry.getValue());
-                    return category;
-                })
-                .collect(Collectors.toList());
+        return toCategoryWise(dashboardCounters.snapshot(LocalDate.now()));
     }
 
     public Map<String, Object> getDashboardStats() {
-        long totalAssets = getTotalAssets();
-        long totalUsers = getTotalUsers();
-        List<Map<String, Object>> categoryWise = getCategoryWiseAssets();
-        long expiringSoonCount = getExpiringSoon().size();
-        long expiredAssetCount = getExpired().size();
-        long assignedAssetCount = getAssignedAssets().size();
-        long nonAssignedAssetCount = getNonAssignedAssets().size();
+        // Asset and expiry counts come from the in-memory counters; only the user count hits the database
+        DashboardCounts counts = dashboardCounters.snapshot(LocalDate.now());
 
         Map<String, Object> data = new HashMap<>();
-        data.put("totalAssets", totalAssets);
-        data.put("totalUsers", totalUsers);
-        data.put("categoryWise", categoryWise);
-        data.put("expiringSoonCount", expiringSoonCount);
-        data.put("expiredAssets", expiredAssetCount);
-        data.put("assignedAssets", assignedAssetCount);
-        data.put("nonAssignedAssets", nonAssignedAssetCount);
+        data.put("totalAssets", counts.getTotalAssets());
+        data.put("totalUsers", getTotalUsers());
+        data.put("categoryWise", toCategoryWise(counts));
+        data.put("statusWise", counts.getAssetsByStatus());
+        data.put("expiringSoonCount", counts.getExpiringSoon());
+        data.put("expiredAssets", counts.getExpired());
+        data.put("assignedAssets", counts.getAssignedAssets());
+        data.put("nonAssignedAssets", counts.getNonAssignedAssets());
 
         Map<String, Object> response = new HashMap<>();
         response.put("data", data);
@@ -118,4 +117,37 @@ public class DashboardService {
         response.put("status", 200);
         return response;
     }
-} 
\ No newline at end of file
+
+    private static int pageSize(int limit) {
+        if (limit < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Page size must not be less than one");
+        }
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
+
+    private static long after(Long cursor) {
+        return cursor != null ? cursor : 0L;
+    }
+
+    /**
+     * One row past the page size is fetched to tell whether another page follows.
+     */
+    private KeysetPageResponse<AssetResponseDTO> toKeysetPage(List<Asset> assets, int pageSize) {
+        boolean hasMore = assets.size() > pageSize;
+        List<Asset> page = hasMore ? assets.subList(0, pageSize) : assets;
+        List<AssetResponseDTO> data = page.stream().map(assetMapper::toResponseDTO).collect(Collectors.toList());
+        String nextCursor = hasMore ? String.valueOf(page.get(page.size() - 1).getId()) : null;
+        return new KeysetPageResponse<>(data, pageSize, hasMore, nextCursor);
+    }
+
+    private List<Map<String, Object>> toCategoryWise(DashboardCounts counts) {
+        return counts.getAssetsByCategory().entrySet().stream()
+                .map(entry -> {
+                    Map<String, Object> category = new HashMap<>();
+                    category.put("category", entry.getKey());
+                    category.put("count", entry.getValue());
+                    return category;
+                })
+                .collect(Collectors.toList());
+    }
+}
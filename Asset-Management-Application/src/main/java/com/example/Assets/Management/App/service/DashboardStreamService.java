@@ -0,0 +1,191 @@
+package com.example.Assets.Management.App.service;
+
+import com.example.Assets.Management.App.Enums.AssetStatus;
+import com.example.Assets.Management.App.dto.responseDto.DashboardStatsEventDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Pushes dashboard counts to subscribed clients over Server-Sent Events.
+ * A subscriber first receives a "snapshot" event; after that, the counters are compared on a
+ * short fixed delay and any change is broadcast as one "delta" event holding only the changed counts.
+ * Diffing the counters (rather than forwarding each domain event) also picks up date rollover
+ * of the expiry counts and the counters' periodic resync, and coalesces bursts of changes.
+ */
+@Service
+public class DashboardStreamService {
+    private static final Logger logger = LoggerFactory.getLogger(DashboardStreamService.class);
+
+    private static final long HEARTBEAT_INTERVAL_MS = 30_000;
+
+    private final DashboardCounters dashboardCounters;
+    private final long emitterTimeoutMs;
+    private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+
+    // Last counts broadcast to subscribers; guarded by this
+    private DashboardCounts lastSent;
+    private long lastSentAt;
+
+    public DashboardStreamService(DashboardCounters dashboardCounters,
+                                  @Value("${dashboard.stream.timeout-ms:1800000}") long emitterTimeoutMs) {
+        this.dashboardCounters = dashboardCounters;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+    }
+
+    /**
+     * Open a stream for one client and send it the current counts.
+     */
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> emitters.remove(emitter));
+
+        DashboardCounts counts = dashboardCounters.snapshot(LocalDate.now());
+        synchronized (this) {
+            // Deltas carry absolute values, so a subscriber is consistent as long as a baseline exists
+            if (lastSent == null) {
+                lastSent = counts;
+                lastSentAt = System.currentTimeMillis();
+            }
+        }
+        try {
+            emitter.send(SseEmitter.event().name("snapshot").data(toSnapshot(counts)));
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+            return emitter;
+        }
+        emitters.add(emitter);
+        return emitter;
+    }
+
+    @Scheduled(fixedDelayString = "${dashboard.stream.push-interval-ms:1000}")
+    public synchronized void pushChanges() {
+        if (emitters.isEmpty()) {
+            lastSent = null;
+            return;
+        }
+        DashboardCounts counts = dashboardCounters.snapshot(LocalDate.now());
+        DashboardStatsEventDTO delta = lastSent != null ? toDelta(lastSent, counts) : null;
+        long now = System.currentTimeMillis();
+        if (lastSent == null || delta != null) {
+            lastSent = counts;
+        }
+        if (delta != null) {
+            broadcast(SseEmitter.event().name("delta").data(delta));
+            lastSentAt = now;
+        } else if (now - lastSentAt >= HEARTBEAT_INTERVAL_MS) {
+            // Keeps idle connections open through proxies and drops clients that have gone away
+            broadcast(SseEmitter.event().comment("keep-alive"));
+            lastSentAt = now;
+        }
+    }
+
+    public int getSubscriberCount() {
+        return emitters.size();
+    }
+
+    private void broadcast(SseEmitter.SseEventBuilder event) {
+        for (SseEmitter emitter : emitters) {
+            try {
+                emitter.send(event);
+            } catch (IOException | IllegalStateException e) {
+                // The container completes the emitter itself after an I/O error
+                emitters.remove(emitter);
+                logger.debug("Dropped dashboard stream subscriber: {}", e.getMessage());
+            }
+        }
+    }
+
+    private DashboardStatsEventDTO toSnapshot(DashboardCounts counts) {
+        DashboardStatsEventDTO snapshot = new DashboardStatsEventDTO();
+        snapshot.setTotalAssets(counts.getTotalAssets());
+        snapshot.setAssignedAssets(counts.getAssignedAssets());
+        snapshot.setNonAssignedAssets(counts.getNonAssignedAssets());
+        snapshot.setExpiringSoonCount(counts.getExpiringSoon());
+        snapshot.setExpiredAssets(counts.getExpired());
+        snapshot.setCategoryWise(counts.getAssetsByCategory());
+        snapshot.setStatusWise(counts.getAssetsByStatus());
+        snapshot.setCategoryStatusWise(counts.getAssetsByCategoryAndStatus());
+        return snapshot;
+    }
+
+    /**
+     * Counts that differ between previous and current, with their current values; null if nothing changed.
+     */
+    private DashboardStatsEventDTO toDelta(DashboardCounts previous, DashboardCounts current) {
+        if (previous.equals(current)) {
+            return null;
+        }
+        DashboardStatsEventDTO delta = new DashboardStatsEventDTO();
+        if (previous.getTotalAssets() != current.getTotalAssets()
+                || previous.getAssignedAssets() != current.getAssignedAssets()) {
+            delta.setTotalAssets(current.getTotalAssets());
+            delta.setAssignedAssets(current.getAssignedAssets());
+            delta.setNonAssignedAssets(current.getNonAssignedAssets());
+        }
+        if (previous.getExpiringSoon() != current.getExpiringSoon()) {
+            delta.setExpiringSoonCount(current.getExpiringSoon());
+        }
+        if (previous.getExpired() != current.getExpired()) {
+            delta.setExpiredAssets(current.getExpired());
+        }
+
+        Map<String, Long> categoryWise = changed(previous.getAssetsByCategory(), current.getAssetsByCategory(), new TreeMap<>());
+        if (!categoryWise.isEmpty()) {
+            delta.setCategoryWise(categoryWise);
+        }
+        Map<AssetStatus, Long> statusWise = changed(previous.getAssetsByStatus(), current.getAssetsByStatus(),
+                new EnumMap<>(AssetStatus.class));
+        if (!statusWise.isEmpty()) {
+            delta.setStatusWise(statusWise);
+        }
+
+        Map<String, Map<AssetStatus, Long>> categoryStatusWise = new TreeMap<>();
+        Set<String> categories = new HashSet<>(previous.getAssetsByCategoryAndStatus().keySet());
+        categories.addAll(current.getAssetsByCategoryAndStatus().keySet());
+        for (String category : categories) {
+            Map<AssetStatus, Long> statuses = changed(
+                    previous.getAssetsByCategoryAndStatus().getOrDefault(category, Collections.emptyMap()),
+                    current.getAssetsByCategoryAndStatus().getOrDefault(category, Collections.emptyMap()),
+                    new EnumMap<>(AssetStatus.class));
+            if (!statuses.isEmpty()) {
+                categoryStatusWise.put(category, statuses);
+            }
+        }
+        if (!categoryStatusWise.isEmpty()) {
+            delta.setCategoryStatusWise(categoryStatusWise);
+        }
+        return delta;
+    }
+
+    private static <K> Map<K, Long> changed(Map<K, Long> previous, Map<K, Long> current, Map<K, Long> into) {
+        for (Map.Entry<K, Long> entry : current.entrySet()) {
+            if (!Objects.equals(previous.get(entry.getKey()), entry.getValue())) {
+                into.put(entry.getKey(), entry.getValue());
+            }
+        }
+        for (K key : previous.keySet()) {
+            if (!current.containsKey(key)) {
+                into.put(key, 0L);
+            }
+        }
+        return into;
+    }
+}
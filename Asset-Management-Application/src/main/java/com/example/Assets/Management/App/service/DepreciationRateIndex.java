@@ -0,0 +1,83 @@
+package com.example.Assets.Management.App.service;
+
+import com.example.Assets.Management.App.event.DepreciationRateChangedEvent;
+import com.example.Assets.Management.App.model.DepreciationRate;
+import com.example.Assets.Management.App.repository.DepreciationRateRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory, per-category index of DepreciationRate effective ranges.
+ * The whole index is rebuilt from the database and swapped in atomically whenever a rate changes,
+ * so valuation reads rates without a database round-trip.
+ */
+@Component
+public class DepreciationRateIndex {
+    private static final Logger logger = LoggerFactory.getLogger(DepreciationRateIndex.class);
+
+    private static final RateSchedule EMPTY = new RateSchedule(Collections.emptyList());
+
+    private final DepreciationRateRepository depreciationRateRepository;
+
+    private volatile Map<Long, RateSchedule> schedules;
+
+    public DepreciationRateIndex(DepreciationRateRepository depreciationRateRepository) {
+        this.depreciationRateRepository = depreciationRateRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        rebuild();
+    }
+
+    /**
+     * Rate schedule of a category; empty if the category has no rates.
+     */
+    public RateSchedule forCategory(Long categoryId) {
+        Map<Long, RateSchedule> current = schedules;
+        if (current == null) {
+            current = rebuild();
+        }
+        return current.getOrDefault(categoryId, EMPTY);
+    }
+
+    /**
+     * Reload every rate and publish the new index in one reference swap.
+     * Synchronized so that a rebuild started after a commit always publishes last.
+     */
+    public synchronized Map<Long, RateSchedule> rebuild() {
+        List<DepreciationRate> rates = depreciationRateRepository.findAll();
+        Map<Long, RateSchedule> rebuilt = rates.stream()
+                .map(rate -> new RateSegment(
+                        rate.getId(),
+                        rate.getCategory().getId(),
+                        rate.getDepreciationMethod(),
+                        rate.getDepreciationPercentage(),
+                        rate.getEffectiveFromDate(),
+                        rate.getEffectiveToDate()))
+                .collect(Collectors.groupingBy(RateSegment::getCategoryId,
+                        Collectors.collectingAndThen(Collectors.toList(), RateSchedule::new)));
+        schedules = Collections.unmodifiableMap(rebuilt);
+        logger.debug("Depreciation rate index rebuilt: {} rates across {} categories", rates.size(), rebuilt.size());
+        return schedules;
+    }
+
+    /**
+     * Rates changed: rebuild once the change has committed, before anything that revalues purchases.
+     */
+    @Order(0)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDepreciationRatesChanged(DepreciationRateChangedEvent event) {
+        rebuild();
+    }
+}
@@ -3,10 +3,13 @@ package com.example.Assets.Management.App.service;
 import com.example.Assets.Management.App.dto.requestDto.DepreciationRateRequestDTO;
 import com.example.Assets.Management.App.dto.responseDto.DepreciationRateResponseDTO;
 import com.example.Assets.Management.App.dto.responseDto.PaginatedResponse;
+import com.example.Assets.Management.App.event.DepreciationRateChangedEvent;
 import com.example.Assets.Management.App.model.Category;
 import com.example.Assets.Management.App.model.DepreciationRate;
+import com.example.Assets.Management.App.model.FinancialYear;
 import com.example.Assets.Management.App.repository.CategoryRepository;
 import com.example.Assets.Management.App.repository.DepreciationRateRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -14,17 +17,22 @@ import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 public class DepreciationRateService {
     private final DepreciationRateRepository depreciationRateRepository;
     private final CategoryRepository categoryRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public DepreciationRateService(DepreciationRateRepository depreciationRateRepository, CategoryRepository categoryRepository) {
+    public DepreciationRateService(DepreciationRateRepository depreciationRateRepository, CategoryRepository categoryRepository,
+                                   ApplicationEventPublisher eventPublisher) {
         this.depreciationRateRepository = depreciationRateRepository;
         this.categoryRepository = categoryRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     public DepreciationRateResponseDTO create(DepreciationRateRequestDTO dto) {
@@ -33,7 +41,7 @@ public class DepreciationRateService {
         DepreciationRate rate = DepreciationRate.builder()
                 .category(category)
                 .assetType(dto.getAssetType())
-                .financialYear(dto.getFinancialYear())
+                .financialYear(FinancialYear.valueOf(dto.getFinancialYear()))
                 .depreciationPercentage(dto.getDepreciationPercentage())
                 .depreciationMethod(dto.getDepreciationMethod())
                 .usefulLifeYears(dto.getUsefulLifeYears())
@@ -42,6 +50,7 @@ public class DepreciationRateService {
                 .effectiveToDate(dto.getEffectiveToDate())
                 .build();
         DepreciationRate saved = depreciationRateRepository.save(rate);
+        eventPublisher.publishEvent(new DepreciationRateChangedEvent(Set.of(category.getId())));
         return toResponseDTO(saved);
     }
 
@@ -60,9 +69,10 @@ public class DepreciationRateService {
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Depreciation rate not found"));
         Category category = categoryRepository.findById(dto.getCategoryId())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Category not found"));
+        Long previousCategoryId = rate.getCategory().getId();
         rate.setCategory(category);
         rate.setAssetType(dto.getAssetType());
-        rate.setFinancialYear(dto.getFinancialYear());
+        rate.setFinancialYear(FinancialYear.valueOf(dto.getFinancialYear()));
         rate.setDepreciationPercentage(dto.getDepreciationPercentage());
         rate.setDepreciationMethod(dto.getDepreciationMethod());
         rate.setUsefulLifeYears(dto.getUsefulLifeYears());
@@ -70,22 +80,24 @@ public class DepreciationRateService {
         rate.setEffectiveFromDate(dto.getEffectiveFromDate());
         rate.setEffectiveToDate(dto.getEffectiveToDate());
         DepreciationRate saved = depreciationRateRepository.save(rate);
+        Set<Long> changedCategoryIds = new HashSet<>(List.of(previousCategoryId, category.getId()));
+        eventPublisher.publishEvent(new DepreciationRateChangedEvent(changedCategoryIds));
         return toResponseDTO(saved);
     }
 
     public void delete(Long id) {
-        if (!depreciationRateRepository.existsById(id)) {
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Depreciation rate not found");
-        }
-        depreciationRateRepository.deleteById(id);
+        DepreciationRate rate = depreciationRateRepository.findById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Depreciation rate not found"));
+        depreciationRateRepository.delete(rate);
+        eventPublisher.publishEvent(new DepreciationRateChangedEvent(Set.of(rate.getCategory().getId())));
     }
-    public DepreciationRateResponseDTO getByCategoryIdAndFinancialYear(Long categoryId, String financialYear) {
+    public DepreciationRateResponseDTO getByCategoryIdAndFinancialYear(Long categoryId, FinancialYear financialYear) {
         DepreciationRate rate = depreciationRateRepository.findByCategoryIdAndFinancialYear(categoryId, financialYear)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Depreciation rate not found"));
         return toResponseDTO(rate);
     }
 
-    public PaginatedResponse<DepreciationRateResponseDTO> getPaginated(int page, int limit, Long categoryId, String financialYear) {
+    public PaginatedResponse<DepreciationRateResponseDTO> getPaginated(int page, int limit, Long categoryId, FinancialYear financialYear) {
         Pageable pageable = PageRequest.of(page, limit);
         Page<DepreciationRate> pageResult;
         if (categoryId != null && financialYear != null) {
@@ -107,7 +119,7 @@ public class DepreciationRateService {
         dto.setCategoryId(rate.getCategory().getId());
         dto.setCategoryName(rate.getCategory().getName());
         dto.setAssetType(rate.getAssetType());
-        dto.setFinancialYear(rate.getFinancialYear());
+        dto.setFinancialYear(rate.getFinancialYear() != null ? rate.getFinancialYear().toString() : null);
         dto.setDepreciationPercentage(rate.getDepreciationPercentage());
         dto.setDepreciationMethod(rate.getDepreciationMethod());
         dto.setUsefulLifeYears(rate.getUsefulLifeYears());
@@ -0,0 +1,41 @@
+package com.example.Assets.Management.App.service;
+
+import com.example.Assets.Management.App.model.FinancialYear;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Result of DepreciationService.scheduleBatch: opening and closing values of every row
+ * for every requested financial year, stored row-major (row * years + year).
+ */
+public final class DepreciationSchedule {
+    @Getter
+    private final List<FinancialYear> financialYears;
+    private final double[] openingValues;
+    private final double[] closingValues;
+
+    DepreciationSchedule(List<FinancialYear> financialYears, double[] openingValues, double[] closingValues) {
+        this.financialYears = financialYears;
+        this.openingValues = openingValues;
+        this.closingValues = closingValues;
+    }
+
+    public int size() {
+        return financialYears.isEmpty() ? 0 : openingValues.length / financialYears.size();
+    }
+
+    /** Value on the day before the financial year starts (the purchase price if bought during or after it). */
+    public double openingValue(int row, int year) {
+        return openingValues[row * financialYears.size() + year];
+    }
+
+    /** Value on the last day of the financial year. */
+    public double closingValue(int row, int year) {
+        return closingValues[row * financialYears.size() + year];
+    }
+
+    public double depreciation(int row, int year) {
+        return openingValue(row, year) - closingValue(row, year);
+    }
+}
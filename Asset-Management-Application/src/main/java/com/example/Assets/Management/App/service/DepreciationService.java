@@ -1,60 +1,35 @@
 package com.example.Assets.Management.App.service;
 
 import com.example.Assets.Management.App.model.DepreciationRate;
-import com.example.Assets.Management.App.Enums.DepreciationMethod;
+import com.example.Assets.Management.App.model.FinancialYear;
 import com.example.Assets.Management.App.repository.DepreciationRateRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
-import java.time.temporal.ChronoUnit;
-import java.util.Comparator;
 
 @Service
 @Transactional
 public class DepreciationService {
     
     private final DepreciationRateRepository depreciationRateRepository;
+    private final DepreciationRateIndex depreciationRateIndex;
     
-    public DepreciationService(DepreciationRateRepository depreciationRateRepository) {
+    public DepreciationService(DepreciationRateRepository depreciationRateRepository,
+                               DepreciationRateIndex depreciationRateIndex) {
         this.depreciationRateRepository = depreciationRateRepository;
+        this.depreciationRateIndex = depreciationRateIndex;
     }
     
     /**
      * Get financial year from a date
-     * Format: YYYY-YY (e.g., 2023-24 for dates between April 2023 and March 2024)
+     * (e.g., 2023-24 for dates between April 2023 and March 2024 with the default April start)
      */
-    public String getFinancialYear(LocalDate date) {
-        int year = date.getYear();
-        int month = date.getMonthValue();
-        
-        // If month is April or later, it's the current financial year
-        if (month >= 4) {
-            return year + "-" + String.format("%02d", (year + 1) % 100);
-        } else {
-            return (year - 1) + "-" + String.format("%02d", year % 100);
-        }
-    }
-
-    /**
-     * Get the start date of a financial year from its string representation.
-     * For example, "2023-24" returns "2023-04-01".
-     */
-    public LocalDate getFinancialYearStartDate(String financialYear) {
-        int year = Integer.parseInt(financialYear.substring(0, 4));
-        return LocalDate.of(year, 4, 1);
-    }
-
-    /**
-     * Get the next financial year string.
-     * For example, "2023-24" returns "2024-25".
-     */
-    public String nextFinancialYear(String financialYear) {
-        int year = Integer.parseInt(financialYear.substring(0, 4));
-        return (year + 1) + "-" + String.format("%02d", (year + 2) % 100);
+    public FinancialYear getFinancialYear(LocalDate date) {
+        return FinancialYear.of(date);
     }
     
     /**
@@ -63,6 +38,15 @@ public class DepreciationService {
     public Optional<DepreciationRate> getApplicableRate(Long categoryId, LocalDate date) {
         return depreciationRateRepository.findApplicableRateByCategoryAndDate(categoryId, date);
     }
+
+    /**
+     * Applicable depreciation rate for a category and date, served from the in-memory index instead of the database.
+     * SUPPORTS so valuation pool threads never open a transaction for it.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Optional<RateSegment> getApplicableRateSegment(Long categoryId, LocalDate date) {
+        return depreciationRateIndex.forCategory(categoryId).applicableOn(date.toEpochDay());
+    }
     
     /**
      * Get applicable depreciation rate for a category, asset type and date
@@ -73,7 +57,9 @@ public class DepreciationService {
     
     /**
      * Calculate depreciation for an asset for a specific financial year
+     * In-memory only, so SUPPORTS rather than the class-level REQUIRED.
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public double calculateDepreciation(double purchasePrice, LocalDate purchaseDate, 
                                       Long categoryId, LocalDate asOfDate) {
         // Validate input dates
@@ -81,72 +67,104 @@ public class DepreciationService {
             return 0.0; // No depreciation if asOfDate is before purchase
         }
 
-        double currentValue = purchasePrice;
-        LocalDate currentDate = purchaseDate;
+        return depreciationRateIndex.forCategory(categoryId)
+                .depreciation(purchasePrice, purchaseDate.toEpochDay(), asOfDate.toEpochDay());
+    }
+    
+    /**
+     * Get current value of an asset
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public double getCurrentValue(double purchasePrice, LocalDate purchaseDate, 
+                                Long categoryId, LocalDate asOfDate) {
+        
+        double totalDepreciation = calculateDepreciation(purchasePrice, purchaseDate, categoryId, asOfDate);
+        return purchasePrice - totalDepreciation;
+    }
 
-        // Get all applicable depreciation rates for the period 
-        List<DepreciationRate> depreciationRates = depreciationRateRepository.findByCategoryId(categoryId)
-            .stream()
-            .filter(rate -> !rate.getEffectiveToDate().isBefore(purchaseDate)) // Rates ending on or after purchase
-            .filter(rate -> !rate.getEffectiveFromDate().isAfter(asOfDate)) // Rates starting on or before asOfDate
-            .sorted(Comparator.comparing(DepreciationRate::getEffectiveFromDate))
-            .collect(Collectors.toList());
+    /**
+     * Valuation context for one page or export as of the given date; rate schedules are memoized per category.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public ValuationContext newValuationContext(LocalDate asOfDate) {
+        return new ValuationContext(depreciationRateIndex, asOfDate);
+    }
 
-        // Rest of the method remains the same...
-        if (depreciationRates.isEmpty()) {
-            return 0.0;
+    /**
+     * Value N purchases as of one date in a single call, in memory.
+     * Inputs are index-aligned primitive arrays (purchase dates as epoch days), in any order;
+     * consecutive rows of the same category reuse one rate-schedule lookup.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public BatchValuation valueBatch(double[] purchasePrices, int[] purchaseEpochDays, long[] categoryIds, int asOfEpochDay) {
+        int n = purchasePrices.length;
+        if (purchaseEpochDays.length != n || categoryIds.length != n) {
+            throw new IllegalArgumentException("Batch arrays must all have the same length");
         }
+        double[] currentValues = new double[n];
+        double[] depreciation = new double[n];
 
-        for (DepreciationRate rate : depreciationRates) {
-            DepreciationMethod method = rate.getDepreciationMethod();
-            double ratePercent = rate.getDepreciationPercentage();
-            LocalDate rateStart = rate.getEffectiveFromDate();
-            LocalDate rateEnd = rate.getEffectiveToDate();
-
-            LocalDate periodStart = currentDate.isAfter(rateStart) ? currentDate : rateStart;
-            LocalDate periodEnd = asOfDate.isBefore(rateEnd) ? asOfDate : rateEnd;
-
-            if (periodStart.isAfter(periodEnd)) {
-                continue;
+        RateSchedule schedule = null;
+        long scheduleCategoryId = 0;
+        for (int i = 0; i < n; i++) {
+            if (schedule == null || categoryIds[i] != scheduleCategoryId) {
+                scheduleCategoryId = categoryIds[i];
+                schedule = depreciationRateIndex.forCategory(scheduleCategoryId);
             }
+            double rowDepreciation = schedule.depreciation(purchasePrices[i], purchaseEpochDays[i], asOfEpochDay);
+            depreciation[i] = rowDepreciation;
+            currentValues[i] = purchasePrices[i] - rowDepreciation;
+        }
+        return new BatchValuation(currentValues, depreciation);
+    }
 
-            long daysInPeriod = ChronoUnit.DAYS.between(periodStart, periodEnd.plusDays(1));
-            long daysInYear = periodStart.isLeapYear() ? 366 : 365;
-
-            if (method == DepreciationMethod.PRO_RATA) {
-                // Your original PRO_RATA logic
-                double annualDepreciation = currentValue * (ratePercent / 100);
-                double periodDepreciation = annualDepreciation * daysInPeriod / daysInYear;
-                currentValue -= periodDepreciation;
-            } else if (method == DepreciationMethod.SLM) {
-                // SLM: (Purchase Price * Rate * Days Held) / (100 * Days in Year)
-                double periodDepreciation = purchasePrice * (ratePercent / 100) * daysInPeriod / daysInYear;
-                currentValue -= periodDepreciation;
-            } else if (method == DepreciationMethod.WDV) {
-                // WDV: (Current Value * Rate * Days Held) / (100 * Days in Year)
-                double periodDepreciation = currentValue * (ratePercent / 100) * daysInPeriod / daysInYear;
-                currentValue -= periodDepreciation;
-            } else {
-                // Default: skip or treat as SLM
-                double periodDepreciation = purchasePrice * (ratePercent / 100) * daysInPeriod / daysInYear;
-                currentValue -= periodDepreciation;
+    /**
+     * Value N purchases at the opening and close of every given financial year (ascending, no duplicates).
+     * Each purchase's rate timeline is walked once for the whole range, so a ten-year schedule
+     * costs about as much as valuing a single year. In-memory only, and called from valuation pool threads.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public DepreciationSchedule scheduleBatch(double[] purchasePrices, int[] purchaseEpochDays, long[] categoryIds,
+                                              List<FinancialYear> financialYears) {
+        int n = purchasePrices.length;
+        int years = financialYears.size();
+        if (purchaseEpochDays.length != n || categoryIds.length != n) {
+            throw new IllegalArgumentException("Batch arrays must all have the same length");
+        }
+        // Boundaries: [day before year 0, end of year 0, day before year 1, end of year 1, ...]
+        long[] boundaries = new long[2 * years];
+        for (int k = 0; k < years; k++) {
+            FinancialYear financialYear = financialYears.get(k);
+            if (k > 0 && financialYear.compareTo(financialYears.get(k - 1)) <= 0) {
+                throw new IllegalArgumentException("Financial years must be ascending and distinct");
             }
+            boundaries[2 * k] = financialYear.getStartEpochDay() - 1L;
+            boundaries[2 * k + 1] = financialYear.getEndEpochDay();
+        }
 
-            currentDate = periodEnd.plusDays(1);
-            if (currentDate.isAfter(asOfDate)) {
-                break;
+        double[] openingValues = new double[n * years];
+        double[] closingValues = new double[n * years];
+        RateSchedule schedule = null;
+        long scheduleCategoryId = 0;
+        for (int i = 0; i < n; i++) {
+            if (schedule == null || categoryIds[i] != scheduleCategoryId) {
+                scheduleCategoryId = categoryIds[i];
+                schedule = depreciationRateIndex.forCategory(scheduleCategoryId);
+            }
+            double[] remaining = schedule.remainingFractions(purchaseEpochDays[i], boundaries);
+            for (int k = 0; k < years; k++) {
+                openingValues[i * years + k] = purchasePrices[i] * remaining[2 * k];
+                closingValues[i * years + k] = purchasePrices[i] * remaining[2 * k + 1];
             }
         }
-        return purchasePrice - currentValue;
+        return new DepreciationSchedule(financialYears, openingValues, closingValues);
     }
-    
+
     /**
-     * Get current value of an asset
+     * Convenience overload of valueBatch for an as-of LocalDate.
      */
-    public double getCurrentValue(double purchasePrice, LocalDate purchaseDate, 
-                                Long categoryId, LocalDate asOfDate) {
-        
-        double totalDepreciation = calculateDepreciation(purchasePrice, purchaseDate, categoryId, asOfDate);
-        return purchasePrice - totalDepreciation;
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public BatchValuation valueBatch(double[] purchasePrices, int[] purchaseEpochDays, long[] categoryIds, LocalDate asOfDate) {
+        return valueBatch(purchasePrices, purchaseEpochDays, categoryIds, (int) asOfDate.toEpochDay());
     }
 }
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.example.Assets.Management.App.service;
+
+import java.nio.file.Path;
+
+/**
+ * A finished export file in the spool directory, ready to be served.
+ */
+public record ExportFile(Path path, String fileName, String contentType, long size) {
+}
@@ -0,0 +1,53 @@
+package com.example.Assets.Management.App.service;
+
+import com.example.Assets.Management.App.Enums.ExportJobStatus;
+import com.example.Assets.Management.App.Enums.ExportJobType;
+import com.example.Assets.Management.App.Enums.ValuationStreamFormat;
+import com.example.Assets.Management.App.model.FinancialYear;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+/**
+ * In-memory state of one export job. The parameters are fixed at submission; the status fields are
+ * written by the export worker and read by request threads, hence volatile.
+ */
+final class ExportJob {
+    final String id;
+    final ExportJobType type;
+    final String requestedBy;
+    final LocalDateTime createdAt;
+    final Long assetId;
+    final Long categoryId;
+    final FinancialYear financialYear;
+    final ValuationStreamFormat format;
+    final String fileName;
+    final String contentType;
+    final Path file;
+
+    volatile ExportJobStatus status = ExportJobStatus.QUEUED;
+    volatile LocalDateTime startedAt;
+    volatile LocalDateTime finishedAt;
+    volatile long sizeBytes;
+    volatile String error;
+
+    ExportJob(String id, ExportJobType type, String requestedBy, Long assetId, Long categoryId,
+              FinancialYear financialYear, ValuationStreamFormat format,
+              String fileName, String contentType, Path file) {
+        this.id = id;
+        this.type = type;
+        this.requestedBy = requestedBy;
+        this.createdAt = LocalDateTime.now();
+        this.assetId = assetId;
+        this.categoryId = categoryId;
+        this.financialYear = financialYear;
+        this.format = format;
+        this.fileName = fileName;
+        this.contentType = contentType;
+        this.file = file;
+    }
+
+    boolean isFinished() {
+        return status == ExportJobStatus.COMPLETED || status == ExportJobStatus.FAILED;
+    }
+}
@@ -0,0 +1,264 @@
+package com.example.Assets.Management.App.service;
+
+import com.example.Assets.Management.App.Enums.ExportJobStatus;
+import com.example.Assets.Management.App.Enums.ExportJobType;
+import com.example.Assets.Management.App.Enums.ValuationStreamFormat;
+import com.example.Assets.Management.App.dto.requestDto.ExportJobRequestDTO;
+import com.example.Assets.Management.App.dto.responseDto.ExportJobDTO;
+import com.example.Assets.Management.App.model.FinancialYear;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs exports in the background: a submitted job is generated on a bounded executor owned by this
+ * service into a file in the local spool directory, and the client polls its status and downloads the file when done.
+ * Jobs live in memory only; on startup the spool directory is emptied, and finished jobs and their
+ * files are removed once the retention period has passed.
+ */
+@Service
+public class ExportJobService {
+    private static final Logger logger = LoggerFactory.getLogger(ExportJobService.class);
+
+    private static final String XLSX_CONTENT_TYPE = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+
+    // Not a bean: an Executor bean would make Spring Boot skip its application task executor
+    private final ThreadPoolExecutor exportExecutor;
+    private final PurchaseHistoryService purchaseHistoryService;
+    private final AssetService assetService;
+    private final AssetValuationStreamService assetValuationStreamService;
+    private final Path spoolDirectory;
+    private final long retentionMinutes;
+    private final Map<String, ExportJob> jobs = new ConcurrentHashMap<>();
+
+    public ExportJobService(PurchaseHistoryService purchaseHistoryService,
+                            AssetService assetService,
+                            AssetValuationStreamService assetValuationStreamService,
+                            @Value("${export.jobs.spool-dir:${java.io.tmpdir}/asset-exports}") String spoolDirectory,
+                            @Value("${export.jobs.retention-minutes:1440}") long retentionMinutes,
+                            @Value("${export.jobs.threads:2}") int threads,
+                            @Value("${export.jobs.queue-capacity:20}") int queueCapacity) {
+        // Exports generated at the same time, each holding one database connection; further jobs wait
+        // in the queue and submissions beyond it are rejected
+        AtomicInteger index = new AtomicInteger();
+        this.exportExecutor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "export-" + index.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.purchaseHistoryService = purchaseHistoryService;
+        this.assetService = assetService;
+        this.assetValuationStreamService = assetValuationStreamService;
+        this.spoolDirectory = Paths.get(spoolDirectory).toAbsolutePath();
+        this.retentionMinutes = retentionMinutes;
+    }
+
+    /**
+     * Create the spool directory and delete files left by a previous run; their jobs are gone.
+     */
+    @PostConstruct
+    public void prepareSpoolDirectory() throws IOException {
+        Files.createDirectories(spoolDirectory);
+        try (DirectoryStream<Path> leftovers = Files.newDirectoryStream(spoolDirectory)) {
+            for (Path leftover : leftovers) {
+                deleteQuietly(leftover);
+            }
+        }
+        logger.info("Export spool directory: {}", spoolDirectory);
+    }
+
+    @PreDestroy
+    public void shutdownExecutor() {
+        exportExecutor.shutdownNow();
+    }
+
+    /**
+     * Validate the request and queue the export. 400 on invalid parameters, 503 when the queue is full.
+     */
+    public ExportJobDTO submit(ExportJobRequestDTO request, String requestedBy) {
+        if (request.getType() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Export type is required");
+        }
+        String id = UUID.randomUUID().toString();
+        FinancialYear financialYear = null;
+        ValuationStreamFormat format = null;
+        String fileName;
+        String contentType;
+        String extension;
+        switch (request.getType()) {
+            case PURCHASE_HISTORY -> {
+                fileName = "purchase_history.xlsx";
+                contentType = XLSX_CONTENT_TYPE;
+                extension = ".xlsx";
+            }
+            case ASSIGNMENT_HISTORY -> {
+                fileName = "asset_assignment_history.xlsx";
+                contentType = XLSX_CONTENT_TYPE;
+                extension = ".xlsx";
+            }
+            case VALUATION -> {
+                try {
+                    financialYear = FinancialYear.valueOf(request.getFinancialYear());
+                } catch (IllegalArgumentException e) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+                }
+                format = request.getFormat() != null ? request.getFormat() : ValuationStreamFormat.CSV;
+                extension = format == ValuationStreamFormat.CSV ? ".csv" : ".ndjson";
+                fileName = "asset_valuation_" + financialYear + extension;
+                contentType = format == ValuationStreamFormat.CSV ? "text/csv;charset=UTF-8" : "application/x-ndjson";
+            }
+            default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported export type: " + request.getType());
+        }
+
+        ExportJob job = new ExportJob(id, request.getType(), requestedBy, request.getAssetId(), request.getCategoryId(),
+                financialYear, format, fileName, contentType, spoolDirectory.resolve(id + extension));
+        jobs.put(id, job);
+        try {
+            exportExecutor.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(id);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many exports in progress, try again later");
+        }
+        return toDTO(job);
+    }
+
+    public ExportJobDTO getJob(String id, String username, boolean admin) {
+        return toDTO(findVisible(id, username, admin));
+    }
+
+    /**
+     * Jobs the user can see, newest first.
+     */
+    public List<ExportJobDTO> getJobs(String username, boolean admin) {
+        return jobs.values().stream()
+                .filter(job -> admin || job.requestedBy.equals(username))
+                .sorted(Comparator.comparing((ExportJob job) -> job.createdAt).reversed())
+                .map(this::toDTO)
+                .toList();
+    }
+
+    /**
+     * The finished file of a job; 409 while the job is still queued or running, 410 if it failed.
+     */
+    public ExportFile getFile(String id, String username, boolean admin) {
+        ExportJob job = findVisible(id, username, admin);
+        if (job.status == ExportJobStatus.FAILED) {
+            throw new ResponseStatusException(HttpStatus.GONE, "Export failed: " + job.error);
+        }
+        if (job.status != ExportJobStatus.COMPLETED || !Files.exists(job.file)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Export is not ready yet");
+        }
+        return new ExportFile(job.file, job.fileName, job.contentType, job.sizeBytes);
+    }
+
+    /**
+     * Forget finished jobs older than the retention period and delete their files.
+     */
+    @Scheduled(fixedDelayString = "${export.jobs.cleanup-interval-ms:600000}")
+    public void removeExpiredJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(retentionMinutes);
+        jobs.values().removeIf(job -> {
+            if (!job.isFinished() || job.finishedAt.isAfter(cutoff)) {
+                return false;
+            }
+            deleteQuietly(job.file);
+            return true;
+        });
+    }
+
+    private void run(ExportJob job) {
+        job.startedAt = LocalDateTime.now();
+        job.status = ExportJobStatus.RUNNING;
+        // Written under a temporary name and moved into place, so a download never sees a partial file
+        Path partial = job.file.resolveSibling(job.file.getFileName() + ".part");
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(partial), 64 * 1024)) {
+                write(job, out);
+            }
+            Files.move(partial, job.file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            job.sizeBytes = Files.size(job.file);
+            job.finishedAt = LocalDateTime.now();
+            job.status = ExportJobStatus.COMPLETED;
+            logger.info("Export {} ({}) finished: {} bytes", job.id, job.type, job.sizeBytes);
+        } catch (Exception e) {
+            deleteQuietly(partial);
+            deleteQuietly(job.file);
+            job.error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            job.finishedAt = LocalDateTime.now();
+            job.status = ExportJobStatus.FAILED;
+            logger.error("Export {} ({}) failed", job.id, job.type, e);
+        }
+    }
+
+    private void write(ExportJob job, OutputStream out) throws IOException {
+        switch (job.type) {
+            case PURCHASE_HISTORY -> purchaseHistoryService.exportPurchaseHistoryToExcel(job.assetId, out);
+            case ASSIGNMENT_HISTORY -> assetService.exportAssetAssignmentHistoryToExcel(job.assetId, job.categoryId, out);
+            case VALUATION -> assetValuationStreamService.writeValuations(job.financialYear, job.format, out);
+        }
+    }
+
+    private ExportJob findVisible(String id, String username, boolean admin) {
+        ExportJob job = jobs.get(id);
+        // Other users' jobs are reported as missing rather than forbidden
+        if (job == null || (!admin && !job.requestedBy.equals(username))) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Export job not found: " + id);
+        }
+        return job;
+    }
+
+    private ExportJobDTO toDTO(ExportJob job) {
+        ExportJobDTO dto = new ExportJobDTO();
+        dto.setId(job.id);
+        dto.setType(job.type);
+        dto.setStatus(job.status);
+        dto.setRequestedBy(job.requestedBy);
+        dto.setCreatedAt(job.createdAt);
+        dto.setStartedAt(job.startedAt);
+        dto.setFinishedAt(job.finishedAt);
+        dto.setFileName(job.fileName);
+        if (job.status == ExportJobStatus.COMPLETED) {
+            dto.setSizeBytes(job.sizeBytes);
+            dto.setDownloadUrl("/api/export-jobs/" + job.id + "/download");
+        }
+        dto.setError(job.error);
+        return dto;
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.warn("Could not delete export file {}: {}", path, e.getMessage());
+        }
+    }
+}
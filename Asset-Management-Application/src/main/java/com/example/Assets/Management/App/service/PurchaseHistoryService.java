@@ -4,12 +4,18 @@ import com.example.Assets.Management.App.dto.mapper.PurchaseHistoryMapper;
 import com.example.Assets.Management.App.dto.requestDto.PurchaseHistoryRequestDTO;
 import com.example.Assets.Management.App.dto.responseDto.PurchaseHistoryResponseDTO;
 import com.example.Assets.Management.App.dto.responseDto.PurchaseHistoryPageResponse;
+import com.example.Assets.Management.App.dto.responseDto.PurchaseHistoryCursorPageResponse;
+import com.example.Assets.Management.App.event.PurchaseChangedEvent;
+import com.example.Assets.Management.App.event.PurchaseState;
 import com.example.Assets.Management.App.model.Asset;
 import com.example.Assets.Management.App.model.PurchaseHistory;
 import com.example.Assets.Management.App.model.Users;
 import com.example.Assets.Management.App.repository.AssetRepository;
 import com.example.Assets.Management.App.repository.PurchaseHistoryRepository;
+import com.example.Assets.Management.App.repository.projection.PurchaseExportRow;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -18,36 +24,50 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.multipart.MultipartFile;
-import com.cloudinary.Cloudinary;
-import com.cloudinary.utils.ObjectUtils;
 import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
-import java.io.ByteArrayOutputStream;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.transaction.annotation.Transactional;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import com.example.Assets.Management.App.Enums.AssetStatus;
 
 @Service
 public class PurchaseHistoryService {
+    private static final int MAX_PAGE_SIZE = 200;
+    // Rows of an Excel export kept in memory; older rows are flushed to a temporary file
+    private static final int EXPORT_ROW_WINDOW = 100;
+
     private final PurchaseHistoryRepository purchaseHistoryRepository;
     private final AssetRepository assetRepository;
     private final PurchaseHistoryMapper purchaseHistoryMapper;
-    private final Cloudinary cloudinary;
+    private final BillUploadService billUploadService;
     private final DepreciationService depreciationService;
+    private final ValuationSnapshotService valuationSnapshotService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public PurchaseHistoryService(PurchaseHistoryRepository purchaseHistoryRepository, 
                                 AssetRepository assetRepository,
                                 PurchaseHistoryMapper purchaseHistoryMapper,
-                                Cloudinary cloudinary,
-                                DepreciationService depreciationService) {
+                                BillUploadService billUploadService,
+                                DepreciationService depreciationService,
+                                ValuationSnapshotService valuationSnapshotService,
+                                ApplicationEventPublisher eventPublisher) {
         this.purchaseHistoryRepository = purchaseHistoryRepository;
         this.assetRepository = assetRepository;
         this.purchaseHistoryMapper = purchaseHistoryMapper;
-        this.cloudinary = cloudinary;
+        this.billUploadService = billUploadService;
         this.depreciationService = depreciationService;
+        this.valuationSnapshotService = valuationSnapshotService;
+        this.eventPublisher = eventPublisher;
     }
 
     public PurchaseHistoryPageResponse getAllWithTotalValue(int page, int size, String[] sort) {
@@ -55,12 +75,9 @@ public class PurchaseHistoryService {
         Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sort[0]));
         
         Page<PurchaseHistory> purchaseHistoryPage = purchaseHistoryRepository.findAll(pageable);
-        List<PurchaseHistoryResponseDTO> content = purchaseHistoryPage.getContent()
-                .stream()
-                .map(purchaseHistoryMapper::toResponseDTO)
-                .collect(Collectors.toList());
+        List<PurchaseHistoryResponseDTO> content = purchaseHistoryMapper.toResponseDTOs(purchaseHistoryPage.getContent());
         
-        double totalCurrentValue = content.stream()
+        double pageCurrentValue = content.stream()
                 .mapToDouble(dto -> dto.getCurrentValue() != null ? dto.getCurrentValue() : 0.0)
                 .sum();
         return PurchaseHistoryPageResponse.builder()
@@ -69,7 +86,8 @@ public class PurchaseHistoryService {
                 .pageSize(purchaseHistoryPage.getSize())
                 .totalElements(purchaseHistoryPage.getTotalElements())
                 .totalPages(purchaseHistoryPage.getTotalPages())
-                .totalCurrentValue(totalCurrentValue)
+                .totalCurrentValue(valuationSnapshotService.getTotalCurrentValue())
+                .pageCurrentValue(pageCurrentValue)
                 .build();
     }
 
@@ -81,12 +99,9 @@ public class PurchaseHistoryService {
         Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sort[0]));
         
         Page<PurchaseHistory> purchaseHistoryPage = purchaseHistoryRepository.findByAssetId(assetId, pageable);
-        List<PurchaseHistoryResponseDTO> content = purchaseHistoryPage.getContent()
-                .stream()
-                .map(purchaseHistoryMapper::toResponseDTO)
-                .collect(Collectors.toList());
+        List<PurchaseHistoryResponseDTO> content = purchaseHistoryMapper.toResponseDTOs(purchaseHistoryPage.getContent());
         
-        double totalCurrentValue = content.stream()
+        double pageCurrentValue = content.stream()
                 .mapToDouble(dto -> dto.getCurrentValue() != null ? dto.getCurrentValue() : 0.0)
                 .sum();
         return PurchaseHistoryPageResponse.builder()
@@ -95,44 +110,164 @@ public class PurchaseHistoryService {
                 .pageSize(purchaseHistoryPage.getSize())
                 .totalElements(purchaseHistoryPage.getTotalElements())
                 .totalPages(purchaseHistoryPage.getTotalPages())
-                .totalCurrentValue(totalCurrentValue)
+                .totalCurrentValue(valuationSnapshotService.getTotalCurrentValueForAsset(assetId))
+                .pageCurrentValue(pageCurrentValue)
+                .build();
+    }
+
+    /**
+     * Keyset page of purchase history ordered by (purchase date, id), optionally for one asset.
+     * The cursor is the previous page's nextCursor ("yyyy-MM-dd_id"); no COUNT runs unless includeTotal is set,
+     * so every page costs the same however deep it is.
+     */
+    public PurchaseHistoryCursorPageResponse getPageByCursor(Long assetId, String cursor, int limit,
+                                                           boolean ascending, boolean includeTotal) {
+        if (limit < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Page size must not be less than one");
+        }
+        if (assetId != null && !assetRepository.existsById(assetId)) {
+            throw new EntityNotFoundException("Asset not found with ID: " + assetId);
+        }
+        int pageSize = Math.min(limit, MAX_PAGE_SIZE);
+        Limit fetch = Limit.of(pageSize + 1);
+
+        List<PurchaseHistory> rows;
+        if (cursor == null || cursor.isBlank()) {
+            if (assetId != null) {
+                rows = ascending
+                        ? purchaseHistoryRepository.findFirstPageAscByAssetId(assetId, fetch)
+                        : purchaseHistoryRepository.findFirstPageDescByAssetId(assetId, fetch);
+            } else {
+                rows = ascending
+                        ? purchaseHistoryRepository.findFirstPageAsc(fetch)
+                        : purchaseHistoryRepository.findFirstPageDesc(fetch);
+            }
+        } else {
+            PageCursor after = PageCursor.parse(cursor);
+            LocalDate date = after.date();
+            Long id = after.id();
+            if (assetId != null) {
+                rows = ascending
+                        ? purchaseHistoryRepository.findPageAfterByAssetId(assetId, date, id, fetch)
+                        : purchaseHistoryRepository.findPageBeforeByAssetId(assetId, date, id, fetch);
+            } else {
+                rows = ascending
+                        ? purchaseHistoryRepository.findPageAfter(date, id, fetch)
+                        : purchaseHistoryRepository.findPageBefore(date, id, fetch);
+            }
+        }
+
+        // One row past the page size tells whether another page follows
+        boolean hasMore = rows.size() > pageSize;
+        List<PurchaseHistory> page = hasMore ? rows.subList(0, pageSize) : rows;
+        List<PurchaseHistoryResponseDTO> content = purchaseHistoryMapper.toResponseDTOs(page);
+        PurchaseHistory last = page.isEmpty() ? null : page.get(page.size() - 1);
+
+        double pageCurrentValue = content.stream()
+                .mapToDouble(dto -> dto.getCurrentValue() != null ? dto.getCurrentValue() : 0.0)
+                .sum();
+        Long totalElements = null;
+        if (includeTotal) {
+            totalElements = assetId != null ? purchaseHistoryRepository.countByAssetId(assetId) : purchaseHistoryRepository.count();
+        }
+        return PurchaseHistoryCursorPageResponse.builder()
+                .content(content)
+                .limit(pageSize)
+                .hasMore(hasMore)
+                .nextCursor(hasMore ? PageCursor.of(last) : null)
+                .totalElements(totalElements)
+                .totalCurrentValue(assetId != null
+                        ? valuationSnapshotService.getTotalCurrentValueForAsset(assetId)
+                        : valuationSnapshotService.getTotalCurrentValue())
+                .pageCurrentValue(pageCurrentValue)
+                .build();
+    }
+
+    /** Position of the last row of a keyset page: its purchase date and id, written as "yyyy-MM-dd_id". */
+    private record PageCursor(LocalDate date, Long id) {
+        static PageCursor parse(String cursor) {
+            int separator = cursor.indexOf('_');
+            try {
+                return new PageCursor(LocalDate.parse(cursor.substring(0, separator)), Long.valueOf(cursor.substring(separator + 1)));
+            } catch (DateTimeParseException | NumberFormatException | IndexOutOfBoundsException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor: " + cursor);
+            }
+        }
+
+        static String of(PurchaseHistory row) {
+            return row.getPurchaseDate() + "_" + row.getId();
+        }
+    }
+
+    /**
+     * Full-text search over invoice number, vendor, description and asset name, best matches first.
+     * The database ranks and pages the matching ids; the page of purchases is then loaded in one query.
+     * totalCurrentValue is left empty, as it would mean valuing every match.
+     */
+    @Transactional(readOnly = true)
+    public PurchaseHistoryPageResponse search(String query, int page, int size) {
+        if (query == null || query.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Search query is required");
+        }
+        if (page < 0 || size < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Page must not be negative and size must be at least one");
+        }
+        Page<Long> idPage = purchaseHistoryRepository.searchIds(query.trim(), PageRequest.of(page, Math.min(size, MAX_PAGE_SIZE)));
+
+        List<PurchaseHistory> ranked = List.of();
+        if (idPage.hasContent()) {
+            Map<Long, PurchaseHistory> byId = purchaseHistoryRepository.findByIdIn(idPage.getContent()).stream()
+                    .collect(Collectors.toMap(PurchaseHistory::getId, Function.identity()));
+            ranked = idPage.getContent().stream()
+                    .map(byId::get)
+                    .filter(Objects::nonNull)
+                    .toList();
+        }
+        List<PurchaseHistoryResponseDTO> content = purchaseHistoryMapper.toResponseDTOs(ranked);
+
+        double pageCurrentValue = content.stream()
+                .mapToDouble(dto -> dto.getCurrentValue() != null ? dto.getCurrentValue() : 0.0)
+                .sum();
+        return PurchaseHistoryPageResponse.builder()
+                .content(content)
+                .pageNumber(idPage.getNumber())
+                .pageSize(idPage.getSize())
+                .totalElements(idPage.getTotalElements())
+                .totalPages(idPage.getTotalPages())
+                .pageCurrentValue(pageCurrentValue)
                 .build();
     }
 
+    /**
+     * Save a purchase and queue its bill PDF, if any, for background upload; the bill shows as PENDING
+     * until BillUploadService has pushed it to storage.
+     */
+    @Transactional
     public PurchaseHistoryResponseDTO createWithBill(PurchaseHistoryRequestDTO requestDto, MultipartFile file, Users u) {
         Asset asset = assetRepository.findById(requestDto.getAssetId())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Asset not found"));
         PurchaseHistory ph = purchaseHistoryMapper.fromRequestDTO(requestDto);
         ph.setAsset(asset);
         ph.setLastChangeBy(u);
+        PurchaseHistory saved = purchaseHistoryRepository.save(ph);
         if (file != null && !file.isEmpty()) {
-            // Only accept PDF
-            if (!"application/pdf".equals(file.getContentType())) {
-                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Only PDF files are allowed");
-            }
-            try {
-                Map uploadResult = cloudinary.uploader().upload(
-                    file.getBytes(),
-                    ObjectUtils.asMap(
-                        "resource_type", "raw",
-                        "folder", "asset-management-system/bills",
-                        "public_id", "bill_" + System.currentTimeMillis(),
-                        "format", "pdf",                              // optional, enforces .pdf extension
-                        "type", "upload"
-                    )
-                );
-                ph.setBillUrl((String) uploadResult.get("secure_url"));
-                ph.setBillPublicId((String) uploadResult.get("public_id"));
-            } catch (Exception e) {
-                throw new RuntimeException("Failed to upload bill PDF", e);
-            }
+            billUploadService.enqueue(saved, billUploadService.stage(file));
         }
-        PurchaseHistory saved = purchaseHistoryRepository.save(ph);
+        valuationSnapshotService.refreshPurchases(List.of(saved));
+        eventPublisher.publishEvent(new PurchaseChangedEvent(
+                saved.getId(), PurchaseChangedEvent.Type.ADDED, null, PurchaseState.of(saved)));
         return purchaseHistoryMapper.toResponseDTO(saved);
     }
 
+    @Transactional
     public void delete(Long id) {
+        PurchaseState before = purchaseHistoryRepository.findById(id).map(PurchaseState::of).orElse(null);
+        billUploadService.cancel(id);
         purchaseHistoryRepository.deleteById(id);
+        valuationSnapshotService.remove(id);
+        if (before != null) {
+            eventPublisher.publishEvent(new PurchaseChangedEvent(id, PurchaseChangedEvent.Type.REMOVED, before, null));
+        }
     }
 
     public PurchaseHistoryResponseDTO getById(Long id) {
@@ -141,9 +276,11 @@ public class PurchaseHistoryService {
         return purchaseHistoryMapper.toResponseDTO(purchaseHistory);
     }
 
+    @Transactional
     public PurchaseHistoryResponseDTO updateWithBill(Long id, PurchaseHistoryRequestDTO requestDto, MultipartFile file, Users user) {
         PurchaseHistory existingHistory = purchaseHistoryRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Purchase History not found with ID: " + id));
+        PurchaseState before = PurchaseState.of(existingHistory);
         Asset asset = assetRepository.findById(requestDto.getAssetId())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Asset not found"));
         existingHistory.setAsset(asset);
@@ -158,55 +295,41 @@ public class PurchaseHistoryService {
         existingHistory.setDescription(requestDto.getDescription());
         existingHistory.setLastChangeBy(user);
         if (file != null && !file.isEmpty()) {
-            // Only accept PDF
-            if (!"application/pdf".equals(file.getContentType())) {
-                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Only PDF files are allowed");
-            }
-            try {
-                // Delete old PDF from Cloudinary if exists
-                if (existingHistory.getBillPublicId() != null) {
-                    cloudinary.uploader().destroy(existingHistory.getBillPublicId(), ObjectUtils.asMap("resource_type", "raw"));
-                }
-                // Upload new PDF
-                Map uploadResult = cloudinary.uploader().upload(
-                    file.getBytes(),
-                    ObjectUtils.asMap(
-                        "resource_type", "raw",
-                        "folder", "asset-management-system/bills",
-                        "public_id", "bill_" + id + "_" + System.currentTimeMillis(),
-                        "format", "pdf",                              // optional, enforces .pdf extension
-                        "type", "upload"
-                    )
-                );
-                existingHistory.setBillUrl((String) uploadResult.get("secure_url"));
-                existingHistory.setBillPublicId((String) uploadResult.get("public_id"));
-            } catch (Exception e) {
-                throw new RuntimeException("Failed to upload bill PDF", e);
-            }
+            // The bill it replaces is removed from storage once the new one has been uploaded
+            billUploadService.enqueue(existingHistory, billUploadService.stage(file));
         }
         PurchaseHistory updated = purchaseHistoryRepository.save(existingHistory);
+        valuationSnapshotService.refreshPurchases(List.of(updated));
+        eventPublisher.publishEvent(new PurchaseChangedEvent(
+                id, PurchaseChangedEvent.Type.UPDATED, before, PurchaseState.of(updated)));
         return purchaseHistoryMapper.toResponseDTO(updated);
     }
 
-    public byte[] exportPurchaseHistoryToExcel(Long assetId) throws IOException {
-        List<PurchaseHistory> histories = (assetId != null)
-                ? purchaseHistoryRepository.findByAssetId(assetId)
-                : purchaseHistoryRepository.findAll();
-
+    /**
+     * Write the purchase history workbook straight to the output stream. Rows are read through a database
+     * cursor and only the last EXPORT_ROW_WINDOW rows are kept in memory; earlier ones are flushed to a
+     * temporary file, so memory does not grow with the number of purchases. Columns have fixed widths
+     * because auto-sizing would have to measure every row.
+     */
+    @Transactional(readOnly = true)
+    public void exportPurchaseHistoryToExcel(Long assetId, OutputStream out) throws IOException {
         String[] columns = {
             "S.No", "Asset Name", "Category Name", "Purchase Date", "Amount", "Vendor",
             "Invoice", "Expiry Date", "Qty", "Current Value", "Depreciation Value"
         };
+        int[] columnWidths = {8, 30, 20, 14, 14, 25, 20, 14, 8, 16, 18};
 
-        double totalPurchasePrice = 0.0;
-        double totalCurrentValue = 0.0;
-        double totalDepreciationValue = 0.0;
+        // One valuation context for the whole export: rates are looked up once per category
+        ValuationContext valuation = depreciationService.newValuationContext(LocalDate.now());
 
-        try (
-            Workbook workbook = new XSSFWorkbook();
-            ByteArrayOutputStream out = new ByteArrayOutputStream()
-        ) {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(EXPORT_ROW_WINDOW);
+        workbook.setCompressTempFiles(true);
+        // close() disposes of the temporary sheet files
+        try (workbook; Stream<PurchaseExportRow> rows = purchaseHistoryRepository.streamExportRows(assetId)) {
             Sheet sheet = workbook.createSheet("Purchase History");
+            for (int i = 0; i < columnWidths.length; i++) {
+                sheet.setColumnWidth(i, columnWidths[i] * 256);
+            }
 
             // Header style
             CellStyle headerStyle = workbook.createCellStyle();
@@ -238,16 +361,18 @@ public class PurchaseHistoryService {
                 cell.setCellStyle(headerStyle);
             }
 
+            double totalPurchasePrice = 0.0;
+            double totalCurrentValue = 0.0;
+            double totalDepreciationValue = 0.0;
             int rowIdx = 1;
             int serialNumber = 1;
-            for (PurchaseHistory ph : histories) {
+            for (Iterator<PurchaseExportRow> it = rows.iterator(); it.hasNext(); ) {
+                PurchaseExportRow ph = it.next();
                 Row row = sheet.createRow(rowIdx++);
-                Asset asset = ph.getAsset();
-                String categoryName = asset.getCategory() != null ? asset.getCategory().getName() : "";
 
                 row.createCell(0).setCellValue(serialNumber++);
-                row.createCell(1).setCellValue(asset.getName());
-                row.createCell(2).setCellValue(categoryName);
+                row.createCell(1).setCellValue(ph.getAssetName());
+                row.createCell(2).setCellValue(ph.getCategoryName() != null ? ph.getCategoryName() : "");
                 row.createCell(3).setCellValue(ph.getPurchaseDate().toString());
 
                 Cell amountCell = row.createCell(4);
@@ -262,24 +387,15 @@ public class PurchaseHistoryService {
                 // Calculate current value and depreciation value
                 double currentValue = 0.0;
                 double depreciationValue = 0.0;
-                if (asset.getStatus() == AssetStatus.STOLEN && ph.getStolenValue() != null) {
+                if (ph.getAssetStatus() == AssetStatus.STOLEN && ph.getStolenValue() != null) {
                     currentValue = 0;
                     depreciationValue = ph.getStolenValue();
-                } else if (asset.getStatus() == AssetStatus.DISPOSED && ph.getDisposedValue() != null) {
+                } else if (ph.getAssetStatus() == AssetStatus.DISPOSED && ph.getDisposedValue() != null) {
                     currentValue = 0;
                     depreciationValue = ph.getDisposedValue();
                 } else {
-                    try {
-                        currentValue = depreciationService.getCurrentValue(
-                            ph.getPurchasePrice(),
-                            ph.getPurchaseDate(),
-                            asset.getCategory().getId(),
-                            java.time.LocalDate.now()
-                        );
-                        depreciationValue = ph.getPurchasePrice() - currentValue;
-                    } catch (Exception e) {
-                        // Optionally log: logger.warn("Depreciation calculation failed for assetId: " + asset.getId(), e);
-                    }
+                    depreciationValue = valuation.depreciation(ph.getPurchasePrice(), ph.getPurchaseDate(), ph.getCategoryId());
+                    currentValue = ph.getPurchasePrice() - depreciationValue;
                 }
                 Cell currentValueCell = row.createCell(9);
                 currentValueCell.setCellValue(roundTo2Decimal(currentValue));
@@ -307,12 +423,8 @@ public class PurchaseHistoryService {
             totalDepCell.setCellValue(roundTo2Decimal(totalDepreciationValue));
             totalDepCell.setCellStyle(summaryStyle);
 
-            for (int i = 0; i < columns.length; i++) {
-                sheet.autoSizeColumn(i);
-            }
-
             workbook.write(out);
-            return out.toByteArray();
+            out.flush();
         }
     }
 
@@ -322,8 +434,6 @@ public class PurchaseHistoryService {
 
     public List<PurchaseHistoryResponseDTO> getByAssetId(Long id) {
         List<PurchaseHistory> histories = purchaseHistoryRepository.findByAssetId(id);
-        return histories.stream()
-                .map(purchaseHistoryMapper::toResponseDTO)
-                .collect(Collectors.toList());
+        return purchaseHistoryMapper.toResponseDTOs(histories);
     }
 }
\ No newline at end of file
@@ -0,0 +1,570 @@
+package com.example.Assets.Management.App.service;
+
+import com.example.Assets.Management.App.Enums.AssetStatus;
+import com.example.Assets.Management.App.dto.responseDto.PurchaseImportResultDTO;
+import com.example.Assets.Management.App.event.AssetChangedEvent;
+import com.example.Assets.Management.App.event.AssetState;
+import com.example.Assets.Management.App.event.PurchaseChangedEvent;
+import com.example.Assets.Management.App.event.PurchaseState;
+import com.example.Assets.Management.App.model.Asset;
+import com.example.Assets.Management.App.model.Category;
+import com.example.Assets.Management.App.model.PurchaseHistory;
+import com.example.Assets.Management.App.model.Users;
+import com.example.Assets.Management.App.repository.AssetRepository;
+import com.example.Assets.Management.App.repository.CategoryRepository;
+import com.example.Assets.Management.App.repository.PurchaseHistoryRepository;
+import com.example.Assets.Management.App.repository.projection.AssetNameView;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk import of purchase histories from a CSV or XLSX sheet, creating the assets they reference by name.
+ *
+ * The sheet is streamed and handled in batches of BATCH_SIZE rows: each batch costs one asset lookup, one
+ * (asset, invoice number) lookup, one JDBC batch insert and one read-back by id, rather than a round trip per row. The import runs in
+ * one transaction and is all or nothing; on any invalid row it is rolled back and the errors are reported.
+ *
+ * Columns are matched by header name, ignoring case, spaces and underscores:
+ * assetId or assetName + category, purchaseDate, amount, vendor, invoiceNumber, warrantyPeriod (months),
+ * expiryDate (defaults to purchaseDate + warrantyPeriod), qty, notify (Yes/No, default No), description.
+ * Dates are yyyy-MM-dd (or date cells in XLSX).
+ */
+@Service
+public class PurchaseImportService {
+    private static final Logger logger = LoggerFactory.getLogger(PurchaseImportService.class);
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    // Bypasses the entity, so notify is normalised here rather than by PurchaseHistory.normalizeNotify()
+    private static final String INSERT_SQL = """
+        INSERT INTO purchase_history (asset_id, purchase_date, purchase_price, expiry_date, vendor_name, invoice_number,
+            warranty_period, qty, notify, description, last_change_by_id)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+        """;
+
+    private static final Map<String, String> HEADER_ALIASES = Map.ofEntries(
+            Map.entry("assetid", "assetId"),
+            Map.entry("assetname", "assetName"),
+            Map.entry("asset", "assetName"),
+            Map.entry("category", "category"),
+            Map.entry("categoryname", "category"),
+            Map.entry("purchasedate", "purchaseDate"),
+            Map.entry("amount", "amount"),
+            Map.entry("purchaseprice", "amount"),
+            Map.entry("vendor", "vendor"),
+            Map.entry("vendorname", "vendor"),
+            Map.entry("invoice", "invoiceNumber"),
+            Map.entry("invoicenumber", "invoiceNumber"),
+            Map.entry("warrantyperiod", "warrantyPeriod"),
+            Map.entry("expirydate", "expiryDate"),
+            Map.entry("qty", "qty"),
+            Map.entry("quantity", "qty"),
+            Map.entry("notify", "notify"),
+            Map.entry("description", "description"));
+
+    private final PurchaseHistoryRepository purchaseHistoryRepository;
+    private final AssetRepository assetRepository;
+    private final CategoryRepository categoryRepository;
+    private final ValuationSnapshotService valuationSnapshotService;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public PurchaseImportService(PurchaseHistoryRepository purchaseHistoryRepository,
+                                 AssetRepository assetRepository,
+                                 CategoryRepository categoryRepository,
+                                 ValuationSnapshotService valuationSnapshotService,
+                                 JdbcTemplate jdbcTemplate,
+                                 ApplicationEventPublisher eventPublisher) {
+        this.purchaseHistoryRepository = purchaseHistoryRepository;
+        this.assetRepository = assetRepository;
+        this.categoryRepository = categoryRepository;
+        this.valuationSnapshotService = valuationSnapshotService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Transactional
+    public PurchaseImportResultDTO importPurchases(MultipartFile file, Users user) {
+        if (file == null || file.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "File is required");
+        }
+        String name = file.getOriginalFilename() != null ? file.getOriginalFilename().toLowerCase(Locale.ROOT) : "";
+        boolean xlsx = name.endsWith(".xlsx");
+        if (!xlsx && !name.endsWith(".csv")) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Only .csv and .xlsx files can be imported");
+        }
+
+        ImportRun run = new ImportRun(user);
+        Path upload = null;
+        try {
+            // Spooled to disk so the XLSX reader can open the zip without holding it in memory
+            upload = Files.createTempFile("purchase-import-", xlsx ? ".xlsx" : ".csv");
+            file.transferTo(upload);
+            if (xlsx) {
+                SpreadsheetRows.readXlsx(upload, run::row);
+            } else {
+                SpreadsheetRows.readCsv(upload, run::row);
+            }
+            run.finish();
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Could not read the file: " + e.getMessage());
+        } finally {
+            if (upload != null) {
+                try {
+                    Files.deleteIfExists(upload);
+                } catch (IOException e) {
+                    logger.warn("Could not delete import upload {}: {}", upload, e.getMessage());
+                }
+            }
+        }
+
+        boolean imported = run.errorCount == 0;
+        if (!imported) {
+            // Nothing is kept, including assets created for earlier batches
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+        } else {
+            logger.info("Imported {} purchases ({} new assets) from {}", run.inserted, run.assetsCreated, file.getOriginalFilename());
+        }
+        return PurchaseImportResultDTO.builder()
+                .imported(imported)
+                .rowsRead(run.rowsRead)
+                .purchasesImported(imported ? run.inserted : 0)
+                .assetsCreated(imported ? run.assetsCreated : 0)
+                .errorCount(run.errorCount)
+                .errors(run.errors)
+                .build();
+    }
+
+    /** One validated sheet row, ready to insert once its asset is resolved. */
+    private static final class ImportRow {
+        int rowNumber;
+        Long assetId;
+        String assetName;
+        Category category;
+        LocalDate purchaseDate;
+        double amount;
+        String vendor;
+        String invoiceNumber;
+        int warrantyPeriod;
+        LocalDate expiryDate;
+        int qty;
+        String notify;
+        String description;
+    }
+
+    /** State of one import: the header, the pending batch, and what earlier batches resolved. */
+    private final class ImportRun {
+        private final Users user;
+        private final Map<String, Category> categoriesByName;
+        // "assetId:invoice number" pairs seen so far in this file, to catch duplicates between batches
+        private final Set<String> seenInvoices = new HashSet<>();
+        private final Set<Long> knownAssetIds = new HashSet<>();
+        // "categoryId:lower-case name" -> asset id, for assets found or created by name
+        private final Map<String, Long> assetIdsByKey = new HashMap<>();
+        private final List<ImportRow> batch = new ArrayList<>(BATCH_SIZE);
+        private final List<String> errors = new ArrayList<>();
+
+        private Map<String, Integer> columns;
+        private boolean headerValid;
+        private int rowsRead;
+        private int inserted;
+        private int assetsCreated;
+        private int errorCount;
+
+        ImportRun(Users user) {
+            this.user = user;
+            this.categoriesByName = categoryRepository.findAll().stream()
+                    .collect(Collectors.toMap(c -> c.getName().trim().toLowerCase(Locale.ROOT), c -> c, (a, b) -> a));
+        }
+
+        void row(int rowNumber, List<String> values) {
+            if (columns == null) {
+                columns = readHeader(values);
+                headerValid = errorCount == 0;
+                return;
+            }
+            rowsRead++;
+            if (!headerValid) {
+                return; // the header error says it all; don't repeat it for every row
+            }
+            ImportRow row = parse(rowNumber, values);
+            if (row != null) {
+                batch.add(row);
+            }
+            if (batch.size() == BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        void finish() {
+            if (columns == null || rowsRead == 0) {
+                error(1, "the file has no rows to import");
+                return;
+            }
+            flush();
+        }
+
+        private Map<String, Integer> readHeader(List<String> header) {
+            Map<String, Integer> found = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                String key = header.get(i).replaceAll("[\\s_]", "").toLowerCase(Locale.ROOT);
+                String column = HEADER_ALIASES.get(key);
+                if (column != null) {
+                    found.putIfAbsent(column, i);
+                }
+            }
+            for (String required : List.of("purchaseDate", "amount", "vendor", "invoiceNumber", "warrantyPeriod", "qty")) {
+                if (!found.containsKey(required)) {
+                    error(1, "missing column " + required);
+                }
+            }
+            if (!found.containsKey("assetId") && !found.containsKey("assetName")) {
+                error(1, "missing column assetId or assetName");
+            }
+            return found;
+        }
+
+        private ImportRow parse(int rowNumber, List<String> values) {
+            int errorsBefore = errorCount;
+            ImportRow row = new ImportRow();
+            row.rowNumber = rowNumber;
+
+            String assetId = value(values, "assetId");
+            if (!assetId.isEmpty()) {
+                row.assetId = parseLong(rowNumber, "assetId", assetId);
+            } else {
+                row.assetName = value(values, "assetName");
+                String categoryName = value(values, "category");
+                if (row.assetName.isEmpty()) {
+                    error(rowNumber, "assetId or assetName is required");
+                } else if (categoryName.isEmpty()) {
+                    error(rowNumber, "category is required with assetName");
+                } else {
+                    row.category = categoriesByName.get(categoryName.toLowerCase(Locale.ROOT));
+                    if (row.category == null) {
+                        error(rowNumber, "unknown category " + categoryName);
+                    }
+                }
+            }
+
+            row.purchaseDate = parseDate(rowNumber, "purchaseDate", value(values, "purchaseDate"));
+            String amount = value(values, "amount");
+            if (amount.isEmpty()) {
+                error(rowNumber, "amount is required");
+            } else {
+                Double price = parseDouble(rowNumber, amount);
+                if (price != null && price <= 0) {
+                    error(rowNumber, "amount must be positive");
+                } else if (price != null) {
+                    row.amount = price;
+                }
+            }
+            row.vendor = required(rowNumber, values, "vendor");
+            row.invoiceNumber = required(rowNumber, values, "invoiceNumber");
+            row.warrantyPeriod = positiveInt(rowNumber, values, "warrantyPeriod");
+            row.qty = positiveInt(rowNumber, values, "qty");
+
+            String expiry = value(values, "expiryDate");
+            if (!expiry.isEmpty()) {
+                row.expiryDate = parseDate(rowNumber, "expiryDate", expiry);
+            } else if (row.purchaseDate != null && row.warrantyPeriod > 0) {
+                row.expiryDate = row.purchaseDate.plusMonths(row.warrantyPeriod);
+            }
+
+            String notify = value(values, "notify");
+            if (notify.isEmpty() || "No".equalsIgnoreCase(notify)) {
+                row.notify = "No";
+            } else if ("Yes".equalsIgnoreCase(notify)) {
+                row.notify = "Yes";
+            } else {
+                error(rowNumber, "notify must be Yes or No");
+            }
+            String description = value(values, "description");
+            row.description = description.isEmpty() ? null : description;
+            return errorCount == errorsBefore ? row : null;
+        }
+
+        /**
+         * Check and insert the pending batch. Once any row has failed, later batches are still checked
+         * so every error is reported, but nothing more is written.
+         */
+        private void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            List<ImportRow> rows = new ArrayList<>(batch);
+            batch.clear();
+
+            Map<ImportRow, Long> assetIds = resolveAssets(rows);
+            List<ImportRow> valid = checkInvoices(rows, assetIds);
+            if (errorCount > 0) {
+                return;
+            }
+            insert(valid, assetIds);
+        }
+
+        /**
+         * Invoice numbers are unique per asset, so drop rows whose (asset, invoice number) pair is already in the
+         * database or on an earlier row of the file. Rows whose asset could not be resolved are already reported.
+         */
+        private List<ImportRow> checkInvoices(List<ImportRow> rows, Map<ImportRow, Long> assetIds) {
+            List<ImportRow> resolved = rows.stream().filter(assetIds::containsKey).toList();
+            if (resolved.isEmpty()) {
+                return resolved;
+            }
+            Set<String> taken = purchaseHistoryRepository.findInvoicesOfAssets(
+                            resolved.stream().map(assetIds::get).collect(Collectors.toSet()),
+                            resolved.stream().map(row -> row.invoiceNumber).collect(Collectors.toSet()))
+                    .stream()
+                    .map(existing -> invoiceKey(existing.getAssetId(), existing.getInvoiceNumber()))
+                    .collect(Collectors.toSet());
+            List<ImportRow> valid = new ArrayList<>(resolved.size());
+            for (ImportRow row : resolved) {
+                Long assetId = assetIds.get(row);
+                String key = invoiceKey(assetId, row.invoiceNumber);
+                if (taken.contains(key)) {
+                    error(row.rowNumber, "invoice number " + row.invoiceNumber + " already exists for asset " + assetId);
+                } else if (!seenInvoices.add(key)) {
+                    error(row.rowNumber, "invoice number " + row.invoiceNumber + " appears more than once in the file for asset " + assetId);
+                } else {
+                    valid.add(row);
+                }
+            }
+            return valid;
+        }
+
+        private Map<ImportRow, Long> resolveAssets(List<ImportRow> rows) {
+            Set<Long> unknownIds = rows.stream()
+                    .map(row -> row.assetId)
+                    .filter(id -> id != null && !knownAssetIds.contains(id))
+                    .collect(Collectors.toSet());
+            if (!unknownIds.isEmpty()) {
+                knownAssetIds.addAll(assetRepository.findExistingIds(unknownIds));
+            }
+            Set<String> unknownNames = rows.stream()
+                    .filter(row -> row.assetId == null && !assetIdsByKey.containsKey(assetKey(row.category.getId(), row.assetName)))
+                    .map(row -> row.assetName.toLowerCase(Locale.ROOT))
+                    .collect(Collectors.toSet());
+            if (!unknownNames.isEmpty()) {
+                // Several assets may share a name and category; rows attach to the oldest
+                for (AssetNameView asset : assetRepository.findByNameIn(unknownNames)) {
+                    if (asset.getCategoryId() != null) {
+                        assetIdsByKey.putIfAbsent(assetKey(asset.getCategoryId(), asset.getName()), asset.getId());
+                    }
+                }
+            }
+
+            Map<ImportRow, Long> resolved = new HashMap<>();
+            Map<String, Asset> created = new LinkedHashMap<>();
+            for (ImportRow row : rows) {
+                if (row.assetId != null) {
+                    if (knownAssetIds.contains(row.assetId)) {
+                        resolved.put(row, row.assetId);
+                    } else {
+                        error(row.rowNumber, "asset " + row.assetId + " not found");
+                    }
+                    continue;
+                }
+                String key = assetKey(row.category.getId(), row.assetName);
+                Long id = assetIdsByKey.get(key);
+                if (id != null) {
+                    resolved.put(row, id);
+                } else if (errorCount == 0) {
+                    created.computeIfAbsent(key, k -> newAsset(row));
+                }
+            }
+            if (created.isEmpty()) {
+                return resolved;
+            }
+
+            for (Map.Entry<String, Asset> entry : created.entrySet()) {
+                Asset asset = assetRepository.save(entry.getValue());
+                assetIdsByKey.put(entry.getKey(), asset.getId());
+                eventPublisher.publishEvent(new AssetChangedEvent(
+                        asset.getId(), AssetChangedEvent.Type.CREATED, null, AssetState.of(asset)));
+                assetsCreated++;
+            }
+            for (ImportRow row : rows) {
+                if (row.assetId == null) {
+                    resolved.putIfAbsent(row, assetIdsByKey.get(assetKey(row.category.getId(), row.assetName)));
+                }
+            }
+            return resolved;
+        }
+
+        private Asset newAsset(ImportRow row) {
+            Asset asset = new Asset();
+            asset.setName(row.assetName);
+            asset.setCategory(row.category);
+            asset.setWarrantyPeriod(row.warrantyPeriod);
+            asset.setStatus(AssetStatus.AVAILABLE);
+            asset.setLastModifiedBy(user);
+            return asset;
+        }
+
+        private void insert(List<ImportRow> rows, Map<ImportRow, Long> assetIds) {
+            if (rows.isEmpty()) {
+                return;
+            }
+            // New assets must reach the database before purchases reference them
+            entityManager.flush();
+            Long userId = user != null ? user.getId() : null;
+            KeyHolder keys = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_SQL, new String[] {"id"}),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            ImportRow row = rows.get(i);
+                            ps.setLong(1, assetIds.get(row));
+                            ps.setDate(2, Date.valueOf(row.purchaseDate));
+                            ps.setDouble(3, row.amount);
+                            ps.setDate(4, Date.valueOf(row.expiryDate));
+                            ps.setString(5, row.vendor);
+                            ps.setString(6, row.invoiceNumber);
+                            ps.setInt(7, row.warrantyPeriod);
+                            ps.setInt(8, row.qty);
+                            ps.setString(9, row.notify);
+                            ps.setString(10, row.description);
+                            ps.setObject(11, userId, Types.BIGINT);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return rows.size();
+                        }
+                    },
+                    keys);
+            inserted += rows.size();
+
+            // Read the batch back by its generated ids: snapshot it and tell the dashboard counters
+            List<Long> ids = keys.getKeyList().stream()
+                    .map(key -> ((Number) key.get("id")).longValue())
+                    .toList();
+            List<PurchaseHistory> saved = purchaseHistoryRepository.findByIdIn(ids);
+            List<PurchaseHistory> categorised = saved.stream()
+                    .filter(ph -> ph.getAsset().getCategory() != null)
+                    .toList();
+            valuationSnapshotService.refreshPurchases(categorised);
+            for (PurchaseHistory ph : saved) {
+                eventPublisher.publishEvent(new PurchaseChangedEvent(
+                        ph.getId(), PurchaseChangedEvent.Type.ADDED, null, PurchaseState.of(ph)));
+            }
+            // Keep the persistence context from growing with the file
+            entityManager.flush();
+            entityManager.clear();
+        }
+
+        private String value(List<String> values, String column) {
+            Integer index = columns.get(column);
+            if (index == null || index >= values.size()) {
+                return "";
+            }
+            return values.get(index).trim();
+        }
+
+        private String required(int rowNumber, List<String> values, String column) {
+            String value = value(values, column);
+            if (value.isEmpty()) {
+                error(rowNumber, column + " is required");
+                return null;
+            }
+            return value;
+        }
+
+        private int positiveInt(int rowNumber, List<String> values, String column) {
+            String value = value(values, column);
+            try {
+                int parsed = (int) Double.parseDouble(value);
+                if (parsed > 0 && parsed == Double.parseDouble(value)) {
+                    return parsed;
+                }
+            } catch (NumberFormatException e) {
+                // reported below
+            }
+            error(rowNumber, column + " must be a positive whole number");
+            return 0;
+        }
+
+        private Long parseLong(int rowNumber, String column, String value) {
+            try {
+                return Long.parseLong(value);
+            } catch (NumberFormatException e) {
+                error(rowNumber, column + " must be a number");
+                return null;
+            }
+        }
+
+        private Double parseDouble(int rowNumber, String value) {
+            try {
+                return Double.parseDouble(value.replace(",", ""));
+            } catch (NumberFormatException e) {
+                error(rowNumber, "amount must be a number");
+                return null;
+            }
+        }
+
+        private LocalDate parseDate(int rowNumber, String column, String value) {
+            if (value.isEmpty()) {
+                error(rowNumber, column + " is required");
+                return null;
+            }
+            try {
+                return LocalDate.parse(value);
+            } catch (DateTimeParseException e) {
+                error(rowNumber, column + " must be a date in yyyy-MM-dd format");
+                return null;
+            }
+        }
+
+        private void error(int rowNumber, String message) {
+            errorCount++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add("Row " + rowNumber + ": " + message);
+            }
+        }
+    }
+
+    private static String invoiceKey(Long assetId, String invoiceNumber) {
+        return assetId + ":" + invoiceNumber;
+    }
+
+    private static String assetKey(Long categoryId, String name) {
+        return categoryId + ":" + name.trim().toLowerCase(Locale.ROOT);
+    }
+}
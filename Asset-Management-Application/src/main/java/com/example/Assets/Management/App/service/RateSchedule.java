@@ -0,0 +1,273 @@
+package com.example.Assets.Management.App.service;
+
+import com.example.Assets.Management.App.Enums.DepreciationMethod;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Sorted, immutable interval index of the depreciation rates of one category.
+ * Segments are ordered by effective-from date; lookups by date are binary searches.
+ *
+ * Every depreciation step is affine in the value per unit of purchase price
+ * (SLM: v - a, WDV/PRO_RATA: v * (1 - b)), so for non-overlapping timelines the composed
+ * effect of all whole segments is precomputed as prefix factors. A valuation is then
+ * two binary searches, the two partial end segments, and one prefix-factor division.
+ */
+public final class RateSchedule {
+
+    private static final long OPEN_ENDED = Long.MAX_VALUE;
+
+    private final RateSegment[] segments;
+    private final long[] fromDays;
+    private final long[] toDays;
+    // maxToDays[i] = max(toDays[0..i]); monotonic, so it can be binary searched even when ranges overlap
+    private final long[] maxToDays;
+    private final double[] fractions;
+    private final DepreciationMethod[] methods;
+    // Prefix composition of whole segments [0, k): value per unit price v maps to prefixScale[k] * v - prefixShift[k].
+    // Only built when no two ranges overlap; otherwise valuations fall back to walking the segments.
+    private final double[] prefixScale;
+    private final double[] prefixShift;
+
+    RateSchedule(List<RateSegment> rates) {
+        RateSegment[] sorted = rates.stream()
+                .sorted(Comparator.comparing(RateSegment::getEffectiveFromDate)
+                        .thenComparing(RateSegment::getId, Comparator.nullsLast(Comparator.naturalOrder())))
+                .toArray(RateSegment[]::new);
+        int n = sorted.length;
+        this.segments = sorted;
+        this.fromDays = new long[n];
+        this.toDays = new long[n];
+        this.maxToDays = new long[n];
+        this.fractions = new double[n];
+        this.methods = new DepreciationMethod[n];
+        long maxTo = Long.MIN_VALUE;
+        for (int i = 0; i < n; i++) {
+            RateSegment rate = sorted[i];
+            fromDays[i] = rate.getEffectiveFromDate().toEpochDay();
+            toDays[i] = rate.getEffectiveToDate() != null ? rate.getEffectiveToDate().toEpochDay() : OPEN_ENDED;
+            maxTo = Math.max(maxTo, toDays[i]);
+            maxToDays[i] = maxTo;
+            fractions[i] = rate.getDepreciationPercentage() / 100;
+            methods[i] = rate.getDepreciationMethod();
+        }
+
+        boolean disjoint = true;
+        for (int i = 1; i < n && disjoint; i++) {
+            disjoint = fromDays[i] > toDays[i - 1];
+        }
+        if (disjoint) {
+            this.prefixScale = new double[n + 1];
+            this.prefixShift = new double[n + 1];
+            prefixScale[0] = 1.0;
+            for (int i = 0; i < n; i++) {
+                if (toDays[i] == OPEN_ENDED) {
+                    // An open-ended segment can only be the last one and is never crossed whole
+                    prefixScale[i + 1] = prefixScale[i];
+                    prefixShift[i + 1] = prefixShift[i];
+                    continue;
+                }
+                double step = stepFraction(i, fromDays[i], toDays[i]);
+                if (isSlm(i)) {
+                    prefixScale[i + 1] = prefixScale[i];
+                    prefixShift[i + 1] = prefixShift[i] + step;
+                } else {
+                    prefixScale[i + 1] = prefixScale[i] * (1 - step);
+                    prefixShift[i + 1] = prefixShift[i] * (1 - step);
+                }
+            }
+        } else {
+            this.prefixScale = null;
+            this.prefixShift = null;
+        }
+    }
+
+    public int size() {
+        return segments.length;
+    }
+
+    /**
+     * Accumulated depreciation of an asset bought on purchaseDay, as of asOfDay (both epoch days, inclusive).
+     */
+    public double depreciation(double purchasePrice, long purchaseDay, long asOfDay) {
+        if (asOfDay < purchaseDay) {
+            return 0.0; // No depreciation if asOfDate is before purchase
+        }
+        double remaining = prefixScale != null
+                ? remainingFraction(purchaseDay, asOfDay)
+                : Double.NaN;
+        if (Double.isNaN(remaining)) {
+            return walkDepreciation(purchasePrice, purchaseDay, asOfDay);
+        }
+        return purchasePrice * (1 - remaining);
+    }
+
+    /**
+     * Fraction of the purchase price still on the books, from the prefix factors.
+     * NaN if the factors cannot be used (a preceding segment wrote the value down to exactly zero).
+     */
+    private double remainingFraction(long purchaseDay, long asOfDay) {
+        int first = firstEndingOnOrAfter(purchaseDay);
+        int last = lastStartingOnOrBefore(asOfDay);
+        if (first > last) {
+            return 1.0;
+        }
+        // Partial (or whole) first segment, starting on the purchase day
+        double value = applyStep(first, 1.0, Math.max(purchaseDay, fromDays[first]), Math.min(asOfDay, toDays[first]));
+        if (last == first) {
+            return value;
+        }
+        // Whole segments strictly between first and last, composed from the prefix factors
+        double baseScale = prefixScale[first + 1];
+        if (Math.abs(baseScale) < Double.MIN_NORMAL) {
+            return Double.NaN;
+        }
+        double scale = prefixScale[last] / baseScale;
+        double shift = prefixShift[last] - scale * prefixShift[first + 1];
+        value = scale * value - shift;
+        // Last segment, from its own start up to the as-of day
+        return applyStep(last, value, fromDays[last], Math.min(asOfDay, toDays[last]));
+    }
+
+    private double applyStep(int i, double value, long periodStart, long periodEnd) {
+        double step = stepFraction(i, periodStart, periodEnd);
+        return isSlm(i) ? value - step : value * (1 - step);
+    }
+
+    /** Rate * days held / days in year, for segment i over [periodStart, periodEnd]. */
+    private double stepFraction(int i, long periodStart, long periodEnd) {
+        long daysInPeriod = periodEnd - periodStart + 1;
+        long daysInYear = LocalDate.ofEpochDay(periodStart).isLeapYear() ? 366 : 365;
+        return fractions[i] * daysInPeriod / daysInYear;
+    }
+
+    private boolean isSlm(int i) {
+        // SLM and unknown methods depreciate on the purchase price; WDV and PRO_RATA on the current value
+        return methods[i] != DepreciationMethod.PRO_RATA && methods[i] != DepreciationMethod.WDV;
+    }
+
+    /**
+     * Segment-by-segment walk over [purchaseDay, asOfDay]; used when rate ranges overlap.
+     */
+    private double walkDepreciation(double purchasePrice, long purchaseDay, long asOfDay) {
+        int last = lastStartingOnOrBefore(asOfDay);
+        double currentValue = purchasePrice;
+        long currentDay = purchaseDay;
+
+        for (int i = firstEndingOnOrAfter(purchaseDay); i <= last; i++) {
+            long periodStart = Math.max(currentDay, fromDays[i]);
+            long periodEnd = Math.min(asOfDay, toDays[i]);
+            if (periodStart > periodEnd) {
+                continue;
+            }
+
+            double step = stepFraction(i, periodStart, periodEnd);
+            if (isSlm(i)) {
+                // SLM: (Purchase Price * Rate * Days Held) / (100 * Days in Year)
+                currentValue -= purchasePrice * step;
+            } else {
+                // WDV / PRO_RATA: (Current Value * Rate * Days Held) / (100 * Days in Year)
+                currentValue -= currentValue * step;
+            }
+
+            currentDay = periodEnd + 1;
+            if (currentDay > asOfDay) {
+                break;
+            }
+        }
+        return purchasePrice - currentValue;
+    }
+
+    /**
+     * Fraction of the purchase price still on the books at each of the given as-of days
+     * (epoch days, non-decreasing), from one walk over the segments.
+     * Agrees with depreciation() at every as-of day: a day inside a segment is valued from that
+     * segment's opening value, so splitting a WDV segment at a year end does not compound it.
+     */
+    public double[] remainingFractions(long purchaseDay, long[] asOfDays) {
+        int m = asOfDays.length;
+        double[] remaining = new double[m];
+        int q = 0;
+        // As-of days before the purchase carry no depreciation
+        while (q < m && asOfDays[q] < purchaseDay) {
+            remaining[q++] = 1.0;
+        }
+        if (q == m) {
+            return remaining;
+        }
+
+        double value = 1.0;
+        long currentDay = purchaseDay;
+        int last = lastStartingOnOrBefore(asOfDays[m - 1]);
+        for (int i = firstEndingOnOrAfter(purchaseDay); i <= last && q < m; i++) {
+            long periodStart = Math.max(currentDay, fromDays[i]);
+            if (periodStart > toDays[i]) {
+                continue;
+            }
+            // Days before this segment starts (a gap in the timeline) keep the value reached so far
+            while (q < m && asOfDays[q] < periodStart) {
+                remaining[q++] = value;
+            }
+            // Days inside this segment: partial step from the segment's opening value
+            while (q < m && asOfDays[q] <= toDays[i]) {
+                remaining[q] = applyStep(i, value, periodStart, asOfDays[q]);
+                q++;
+            }
+            if (toDays[i] == OPEN_ENDED) {
+                break;
+            }
+            value = applyStep(i, value, periodStart, toDays[i]);
+            currentDay = toDays[i] + 1;
+        }
+        while (q < m) {
+            remaining[q++] = value;
+        }
+        return remaining;
+    }
+
+    /**
+     * The rate in force on the given day; when ranges overlap, the one that started most recently wins.
+     */
+    public Optional<RateSegment> applicableOn(long day) {
+        int first = firstEndingOnOrAfter(day);
+        for (int i = lastStartingOnOrBefore(day); i >= first; i--) {
+            if (toDays[i] >= day) {
+                return Optional.of(segments[i]);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /** Index of the first segment whose running max end date is on or after day (segments.length if none). */
+    private int firstEndingOnOrAfter(long day) {
+        int lo = 0;
+        int hi = maxToDays.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (maxToDays[mid] < day) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /** Index of the last segment starting on or before day (-1 if none). */
+    private int lastStartingOnOrBefore(long day) {
+        int lo = 0;
+        int hi = fromDays.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (fromDays[mid] <= day) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo - 1;
+    }
+}
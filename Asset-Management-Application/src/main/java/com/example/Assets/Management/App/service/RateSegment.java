@@ -0,0 +1,22 @@
+package com.example.Assets.Management.App.service;
+
+import com.example.Assets.Management.App.Enums.DepreciationMethod;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+/**
+ * Immutable copy of a DepreciationRate effective range, as held by the in-memory rate index.
+ * effectiveToDate is null for an open-ended (currently effective) rate.
+ */
+@Getter
+@AllArgsConstructor
+public final class RateSegment {
+    private final Long id;
+    private final Long categoryId;
+    private final DepreciationMethod depreciationMethod;
+    private final Double depreciationPercentage;
+    private final LocalDate effectiveFromDate;
+    private final LocalDate effectiveToDate;
+}
@@ -0,0 +1,190 @@
+package com.example.Assets.Management.App.service;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.ss.util.NumberToTextConverter;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Streaming readers for uploaded CSV and XLSX sheets: rows are handed over one at a time as lists of
+ * strings, so memory does not grow with the file. XLSX sheets are read with the SAX event API rather than
+ * loaded as a workbook; date cells come out as ISO dates and numeric cells as plain numbers,
+ * whatever their display format.
+ */
+final class SpreadsheetRows {
+
+    @FunctionalInterface
+    interface RowHandler {
+        /** rowNumber is 1-based, as shown in a spreadsheet or text editor; the header is row 1. */
+        void row(int rowNumber, List<String> values);
+    }
+
+    private SpreadsheetRows() {
+    }
+
+    /**
+     * RFC 4180 CSV: comma separated, fields optionally double-quoted, "" escapes a quote inside a quoted field,
+     * quoted fields may span lines. Blank lines are skipped.
+     */
+    static void readCsv(Path file, RowHandler handler) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            List<String> values = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            boolean fieldStarted = false;
+            int line = 1;
+            int rowStartLine = 1;
+            int c = reader.read();
+            if (c == '\uFEFF') {
+                c = reader.read(); // byte order mark written by Excel
+            }
+            while (c != -1) {
+                if (quoted) {
+                    if (c == '"') {
+                        int next = reader.read();
+                        if (next == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            c = next;
+                            continue;
+                        }
+                    } else {
+                        if (c == '\n') {
+                            line++;
+                        }
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && !fieldStarted) {
+                    quoted = true;
+                    fieldStarted = true;
+                } else if (c == ',') {
+                    values.add(field.toString());
+                    field.setLength(0);
+                    fieldStarted = false;
+                } else if (c == '\n' || c == '\r') {
+                    if (c == '\r') {
+                        reader.mark(1);
+                        if (reader.read() != '\n') {
+                            reader.reset();
+                        }
+                    }
+                    values.add(field.toString());
+                    emitCsvRow(handler, rowStartLine, values);
+                    values = new ArrayList<>();
+                    field.setLength(0);
+                    fieldStarted = false;
+                    line++;
+                    rowStartLine = line;
+                } else {
+                    field.append((char) c);
+                    fieldStarted = true;
+                }
+                c = reader.read();
+            }
+            if (fieldStarted || field.length() > 0 || !values.isEmpty()) {
+                values.add(field.toString());
+                emitCsvRow(handler, rowStartLine, values);
+            }
+        }
+    }
+
+    private static void emitCsvRow(RowHandler handler, int rowNumber, List<String> values) {
+        boolean blank = values.stream().allMatch(String::isBlank);
+        if (!blank) {
+            handler.row(rowNumber, values);
+        }
+    }
+
+    /**
+     * First sheet of an XLSX workbook, streamed from the file with the SAX event API.
+     * Empty rows are skipped; missing cells within a row come through as empty strings.
+     */
+    static void readXlsx(Path file, RowHandler handler) throws IOException {
+        try (OPCPackage pkg = OPCPackage.open(file.toFile(), PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+            StylesTable styles = reader.getStylesTable();
+            Iterator<InputStream> sheets = reader.getSheetsData();
+            if (!sheets.hasNext()) {
+                return;
+            }
+            try (InputStream sheet = sheets.next()) {
+                XMLReader parser = XMLHelper.newXMLReader();
+                parser.setContentHandler(new XSSFSheetXMLHandler(
+                        styles, null, strings, new SheetRowCollector(handler), new PlainValueFormatter(), false));
+                parser.parse(new InputSource(sheet));
+            }
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new IOException("Not a readable XLSX workbook: " + e.getMessage(), e);
+        }
+    }
+
+    /** Collects the cells of each row by column index and hands the row over when it ends. */
+    private static final class SheetRowCollector implements XSSFSheetXMLHandler.SheetContentsHandler {
+        private final RowHandler handler;
+        private final List<String> values = new ArrayList<>();
+        private int nextColumn;
+
+        SheetRowCollector(RowHandler handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            values.clear();
+            nextColumn = 0;
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            if (!values.stream().allMatch(String::isBlank)) {
+                handler.row(rowNum + 1, new ArrayList<>(values));
+            }
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int column = cellReference != null ? new CellReference(cellReference).getCol() : nextColumn;
+            while (values.size() < column) {
+                values.add("");
+            }
+            values.add(formattedValue != null ? formattedValue : "");
+            nextColumn = column + 1;
+        }
+    }
+
+    /** Writes date cells as ISO dates and other numbers as plain numbers, ignoring their display format. */
+    private static final class PlainValueFormatter extends DataFormatter {
+        @Override
+        public String formatRawCellContents(double value, int formatIndex, String formatString, boolean use1904Windowing) {
+            if (DateUtil.isADateFormat(formatIndex, formatString) && DateUtil.isValidExcelDate(value)) {
+                return DateUtil.getLocalDateTime(value, use1904Windowing).toLocalDate().toString();
+            }
+            return NumberToTextConverter.toText(value);
+        }
+    }
+}
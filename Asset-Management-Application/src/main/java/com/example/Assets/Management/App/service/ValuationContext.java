@@ -0,0 +1,47 @@
+package com.example.Assets.Management.App.service;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Values purchases as of one date for the span of a single page or export.
+ * Each category's rate schedule is looked up once and reused, and every purchase is valued
+ * with one walk of its rate timeline; current value is purchase price minus that depreciation.
+ * Not thread-safe: create one per request via DepreciationService.newValuationContext.
+ */
+public final class ValuationContext {
+
+    private static final RateSchedule NO_RATES = new RateSchedule(Collections.emptyList());
+
+    private final DepreciationRateIndex depreciationRateIndex;
+    private final LocalDate asOfDate;
+    private final long asOfDay;
+    private final Map<Long, RateSchedule> schedules = new HashMap<>();
+
+    ValuationContext(DepreciationRateIndex depreciationRateIndex, LocalDate asOfDate) {
+        this.depreciationRateIndex = depreciationRateIndex;
+        this.asOfDate = asOfDate;
+        this.asOfDay = asOfDate.toEpochDay();
+    }
+
+    public LocalDate getAsOfDate() {
+        return asOfDate;
+    }
+
+    /**
+     * Accumulated depreciation of a purchase as of the context date.
+     * A purchase without a category has no rates and does not depreciate.
+     */
+    public double depreciation(double purchasePrice, LocalDate purchaseDate, Long categoryId) {
+        return schedule(categoryId).depreciation(purchasePrice, purchaseDate.toEpochDay(), asOfDay);
+    }
+
+    private RateSchedule schedule(Long categoryId) {
+        if (categoryId == null) {
+            return NO_RATES;
+        }
+        return schedules.computeIfAbsent(categoryId, depreciationRateIndex::forCategory);
+    }
+}
@@ -0,0 +1,304 @@
+package com.example.Assets.Management.App.service;
+
+import com.example.Assets.Management.App.event.AssetChangedEvent;
+import com.example.Assets.Management.App.event.DepreciationRateChangedEvent;
+import com.example.Assets.Management.App.model.PurchaseHistory;
+import com.example.Assets.Management.App.model.ValuationSnapshot;
+import com.example.Assets.Management.App.repository.PurchaseHistoryRepository;
+import com.example.Assets.Management.App.repository.ValuationSnapshotRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the valuation_snapshot table: per-purchase current value and accumulated depreciation
+ * as of today. Refreshed in full nightly and incrementally when purchases or rates change,
+ * so read paths can look values up instead of recomputing them.
+ */
+@Service
+public class ValuationSnapshotService {
+    private static final Logger logger = LoggerFactory.getLogger(ValuationSnapshotService.class);
+
+    private static final int REFRESH_BATCH_SIZE = 1000;
+
+    private static final String UPSERT_SQL = """
+        INSERT INTO valuation_snapshot (purchase_history_id, current_value, accumulated_depreciation, as_of_date, refreshed_at)
+        VALUES (?, ?, ?, ?, ?)
+        ON CONFLICT (purchase_history_id) DO UPDATE SET
+            current_value = EXCLUDED.current_value,
+            accumulated_depreciation = EXCLUDED.accumulated_depreciation,
+            as_of_date = EXCLUDED.as_of_date,
+            refreshed_at = EXCLUDED.refreshed_at
+        """;
+
+    private final ValuationSnapshotRepository valuationSnapshotRepository;
+    private final PurchaseHistoryRepository purchaseHistoryRepository;
+    private final DepreciationService depreciationService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    // Portfolio total cached per generation; every committed snapshot write moves to a new generation
+    private final AtomicLong totalGeneration = new AtomicLong();
+    private volatile CachedTotal cachedTotal;
+
+    public ValuationSnapshotService(ValuationSnapshotRepository valuationSnapshotRepository,
+                                    PurchaseHistoryRepository purchaseHistoryRepository,
+                                    DepreciationService depreciationService,
+                                    JdbcTemplate jdbcTemplate,
+                                    PlatformTransactionManager transactionManager) {
+        this.valuationSnapshotRepository = valuationSnapshotRepository;
+        this.purchaseHistoryRepository = purchaseHistoryRepository;
+        this.depreciationService = depreciationService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Backfill at startup when the table is empty or not current for today, e.g. on a fresh database
+     * or after the app was down at the nightly refresh, so read paths do not fall back to live valuation.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfStale() {
+        long current = valuationSnapshotRepository.countByAsOfDate(LocalDate.now());
+        long purchases = purchaseHistoryRepository.count();
+        if (current >= purchases) {
+            return;
+        }
+        logger.info("Valuation snapshot has {} of {} purchases as of today, refreshing", current, purchases);
+        try {
+            refreshAll();
+        } catch (RuntimeException e) {
+            // Do not fail startup: purchases without a current snapshot are valued live until the next refresh
+            logger.warn("Startup valuation snapshot refresh failed", e);
+        }
+    }
+
+    /**
+     * Today's snapshot of a purchase, if one has been written.
+     */
+    public Optional<ValuationSnapshot> findCurrent(Long purchaseHistoryId) {
+        return valuationSnapshotRepository.findByPurchaseHistoryIdAndAsOfDate(purchaseHistoryId, LocalDate.now());
+    }
+
+    /**
+     * Today's snapshots of a page of purchases, keyed by purchase id. Missing ids have no current snapshot.
+     */
+    public Map<Long, ValuationSnapshot> findCurrent(Collection<Long> purchaseHistoryIds) {
+        if (purchaseHistoryIds.isEmpty()) {
+            return Map.of();
+        }
+        return valuationSnapshotRepository.findByPurchaseHistoryIdInAndAsOfDate(purchaseHistoryIds, LocalDate.now())
+                .stream()
+                .collect(Collectors.toMap(ValuationSnapshot::getPurchaseHistoryId, Function.identity()));
+    }
+
+    /**
+     * Sum of today's current values over every purchase that is not written off, from the snapshot.
+     * Cached until the next committed snapshot write, so paging through purchases does not rescan the table.
+     */
+    public double getTotalCurrentValue() {
+        long generation = totalGeneration.get();
+        CachedTotal cached = cachedTotal;
+        if (cached != null && cached.generation() == generation) {
+            return cached.value();
+        }
+        double total = valuationSnapshotRepository.sumCurrentValue();
+        // Only cache if no write committed while summing
+        if (totalGeneration.get() == generation) {
+            cachedTotal = new CachedTotal(generation, total);
+        }
+        return total;
+    }
+
+    /**
+     * Sum of today's current values over the purchases of one asset that are not written off, from the snapshot.
+     */
+    public double getTotalCurrentValueForAsset(Long assetId) {
+        return valuationSnapshotRepository.sumCurrentValueByAssetId(assetId);
+    }
+
+    /**
+     * Recompute every purchase as of today, in id order and bounded batches.
+     * Each batch is written in its own transaction, so its entities are released before the next one is loaded.
+     * A batch that fails to write is logged and skipped, and the refresh carries on with the next one; the
+     * refresh then throws once it has finished, so callers know the snapshot is incomplete.
+     * If a batch cannot even be loaded, the refresh stops there.
+     */
+    public int refreshAll() {
+        LocalDate asOfDate = LocalDate.now();
+        int refreshed = 0;
+        int failed = 0;
+        long afterId = 0L;
+        List<PurchaseHistory> batch;
+        do {
+            // Loaded with asset and category in the repository's own read-only transaction
+            batch = purchaseHistoryRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(REFRESH_BATCH_SIZE));
+            if (batch.isEmpty()) {
+                break;
+            }
+            List<PurchaseHistory> toWrite = batch;
+            try {
+                transactionTemplate.executeWithoutResult(status -> write(toWrite, asOfDate));
+                refreshed += batch.size();
+            } catch (RuntimeException e) {
+                failed += batch.size();
+                logger.error("Valuation snapshot refresh failed for purchases {} to {}, continuing",
+                        batch.get(0).getId(), batch.get(batch.size() - 1).getId(), e);
+            }
+            afterId = batch.get(batch.size() - 1).getId();
+        } while (batch.size() == REFRESH_BATCH_SIZE);
+        Integer pruned = transactionTemplate.execute(status -> valuationSnapshotRepository.deleteOrphans());
+        logger.info("Valuation snapshot refreshed: {} purchases as of {}, {} failed, {} orphaned rows removed",
+                refreshed, asOfDate, failed, pruned);
+        if (failed > 0) {
+            throw new IllegalStateException("Valuation snapshot refresh failed for " + failed + " purchases");
+        }
+        return refreshed;
+    }
+
+    /**
+     * Recompute the given purchases, e.g. right after they were created or edited.
+     */
+    @Transactional
+    public void refreshPurchases(List<PurchaseHistory> purchases) {
+        write(purchases, LocalDate.now());
+    }
+
+    /**
+     * Recompute every purchase of an asset, e.g. after the asset moved to another category.
+     */
+    @Transactional
+    public void refreshAsset(Long assetId) {
+        write(purchaseHistoryRepository.findByAssetId(assetId), LocalDate.now());
+    }
+
+    @Transactional
+    public void remove(Long purchaseHistoryId) {
+        valuationSnapshotRepository.deleteById(purchaseHistoryId);
+        invalidateTotalAfterCommit();
+    }
+
+    /**
+     * Drop the snapshots of purchases that were deleted, e.g. with their asset.
+     */
+    @Transactional
+    public void remove(Collection<Long> purchaseHistoryIds) {
+        if (purchaseHistoryIds.isEmpty()) {
+            return;
+        }
+        valuationSnapshotRepository.deleteAllByIdInBatch(purchaseHistoryIds);
+        invalidateTotalAfterCommit();
+    }
+
+    /**
+     * Rates of some categories changed: recompute their purchases once the rate index has been rebuilt.
+     */
+    @Order(1)
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onDepreciationRatesChanged(DepreciationRateChangedEvent event) {
+        LocalDate asOfDate = LocalDate.now();
+        for (Long categoryId : event.getCategoryIds()) {
+            int refreshed = write(purchaseHistoryRepository.findByAssetCategoryId(categoryId), asOfDate);
+            logger.debug("Valuation snapshot refreshed for category {}: {} purchases", categoryId, refreshed);
+        }
+    }
+
+    /**
+     * An asset was stolen, disposed or reactivated, so its purchases may have entered or left the written-off
+     * set that the portfolio total leaves out. Runs after commit, so the cached total is dropped straight away.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAssetChanged(AssetChangedEvent event) {
+        if (event.getType() == AssetChangedEvent.Type.STATUS_CHANGED) {
+            totalGeneration.incrementAndGet();
+        }
+    }
+
+    private int write(List<PurchaseHistory> purchases, LocalDate asOfDate) {
+        int n = purchases.size();
+        if (n == 0) {
+            return 0;
+        }
+        // A purchase whose asset has no category has no rates and does not depreciate, as in ValuationContext
+        List<PurchaseHistory> categorised = new ArrayList<>(n);
+        for (PurchaseHistory ph : purchases) {
+            if (ph.getAsset().getCategory() != null) {
+                categorised.add(ph);
+            }
+        }
+        int m = categorised.size();
+        double[] purchasePrices = new double[m];
+        int[] purchaseDays = new int[m];
+        long[] categoryIds = new long[m];
+        for (int i = 0; i < m; i++) {
+            PurchaseHistory ph = categorised.get(i);
+            purchasePrices[i] = ph.getPurchasePrice();
+            purchaseDays[i] = (int) ph.getPurchaseDate().toEpochDay();
+            categoryIds[i] = ph.getAsset().getCategory().getId();
+        }
+        BatchValuation valuations = depreciationService.valueBatch(purchasePrices, purchaseDays, categoryIds, asOfDate);
+
+        Date asOf = Date.valueOf(asOfDate);
+        Timestamp refreshedAt = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(n);
+        for (int i = 0; i < m; i++) {
+            rows.add(new Object[] {
+                categorised.get(i).getId(),
+                valuations.getCurrentValues()[i],
+                valuations.getDepreciation()[i],
+                asOf,
+                refreshedAt
+            });
+        }
+        for (PurchaseHistory ph : purchases) {
+            if (ph.getAsset().getCategory() == null) {
+                rows.add(new Object[] {ph.getId(), ph.getPurchasePrice(), 0.0, asOf, refreshedAt});
+            }
+        }
+        jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+        invalidateTotalAfterCommit();
+        return n;
+    }
+
+    private void invalidateTotalAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            totalGeneration.incrementAndGet();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                totalGeneration.incrementAndGet();
+            }
+        });
+    }
+
+    private record CachedTotal(long generation, double value) {
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.Assets.Management.App.storage;
+
+import com.example.Assets.Management.App.Enums.BlobFolder;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+
+/**
+ * Where uploaded asset images and bills are kept. The backend is chosen with storage.backend:
+ * cloudinary (default) or local.
+ */
+public interface BlobStore {
+
+    /**
+     * Store the content in the folder. name is a hint for the stored name and may be ignored or null.
+     * replaces is the id of the blob this one replaces, or null; a backend may overwrite it in place, so
+     * the returned id can be the same one. Backends that deduplicate content may return the id of a blob
+     * that is also referenced elsewhere.
+     */
+    StoredBlob store(BlobFolder folder, String name, Resource content, String replaces) throws IOException;
+
+    /**
+     * Delete a stored blob. Deleting one that does not exist, or an id written by another backend, is not an error.
+     */
+    void delete(BlobFolder folder, String id) throws IOException;
+}
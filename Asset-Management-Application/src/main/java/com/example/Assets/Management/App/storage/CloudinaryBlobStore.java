@@ -0,0 +1,61 @@
+package com.example.Assets.Management.App.storage;
+
+import com.cloudinary.Cloudinary;
+import com.cloudinary.utils.ObjectUtils;
+import com.example.Assets.Management.App.Enums.BlobFolder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Blobs kept in Cloudinary under asset-management-system/. Images are uploaded as images, bills as raw PDFs.
+ */
+@Component
+@ConditionalOnProperty(name = "storage.backend", havingValue = "cloudinary", matchIfMissing = true)
+public class CloudinaryBlobStore implements BlobStore {
+    private static final String ROOT_FOLDER = "asset-management-system";
+
+    private final Cloudinary cloudinary;
+
+    public CloudinaryBlobStore(Cloudinary cloudinary) {
+        this.cloudinary = cloudinary;
+    }
+
+    @Override
+    public StoredBlob store(BlobFolder folder, String name, Resource content, String replaces) throws IOException {
+        Map<String, Object> uploadOptions = new HashMap<>();
+        uploadOptions.put("resource_type", resourceType(folder));
+        if (replaces != null) {
+            // Overwrite in place, so the id and URL stay the same
+            uploadOptions.put("public_id", replaces);
+            uploadOptions.put("overwrite", true);
+            uploadOptions.put("invalidate", true);
+        } else {
+            uploadOptions.put("folder", ROOT_FOLDER + "/" + folder.getDirectory());
+            if (name != null) {
+                uploadOptions.put("public_id", name);
+            }
+        }
+        if (folder == BlobFolder.BILL) {
+            uploadOptions.put("format", "pdf");                   // optional, enforces .pdf extension
+            uploadOptions.put("type", "upload");
+        }
+        // Files on disk are streamed by the client; anything else is sent from memory
+        Object file = content.isFile() ? content.getFile() : content.getContentAsByteArray();
+        Map<?, ?> uploadResult = cloudinary.uploader().upload(file, uploadOptions);
+        return new StoredBlob((String) uploadResult.get("public_id"), (String) uploadResult.get("secure_url"));
+    }
+
+    @Override
+    public void delete(BlobFolder folder, String id) throws IOException {
+        cloudinary.uploader().destroy(id, ObjectUtils.asMap("resource_type", resourceType(folder)));
+    }
+
+    private static String resourceType(BlobFolder folder) {
+        return folder == BlobFolder.BILL ? "raw" : "image";
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.Assets.Management.App.storage;
+
+import com.example.Assets.Management.App.Enums.BlobFolder;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Blobs kept on the local filesystem, for sites without access to Cloudinary. Files are content-addressed:
+ * the id is the SHA-256 of the content (sharded by its first two hex digits) plus the original extension,
+ * so identical uploads are stored once and a stored file never changes. Files are served by BlobController.
+ */
+@Component
+@ConditionalOnProperty(name = "storage.backend", havingValue = "local")
+public class LocalBlobStore implements BlobStore {
+    private static final Logger logger = LoggerFactory.getLogger(LocalBlobStore.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String INCOMING_DIRECTORY = ".incoming";
+    private static final Pattern ID = Pattern.compile("[0-9a-f]{2}/[0-9a-f]{64}(\\.[a-z0-9]{1,8})?");
+    private static final Pattern EXTENSION = Pattern.compile("[a-z0-9]{1,8}");
+
+    private final Path root;
+    private final String baseUrl;
+
+    public LocalBlobStore(@Value("${storage.local.root:${user.home}/asset-blobs}") String root,
+                          @Value("${storage.local.base-url:/api/public/blobs}") String baseUrl) {
+        this.root = Paths.get(root).toAbsolutePath();
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    }
+
+    @PostConstruct
+    public void prepareDirectories() throws IOException {
+        Files.createDirectories(root.resolve(INCOMING_DIRECTORY));
+        for (BlobFolder folder : BlobFolder.values()) {
+            Files.createDirectories(root.resolve(folder.getDirectory()));
+        }
+        logger.info("Local blob store: {}", root);
+    }
+
+    /**
+     * Copy the content into a temporary file while hashing it, then move it to its content address.
+     * If that file already exists the copy is dropped. replaces is ignored: new content always gets a new id.
+     */
+    @Override
+    public StoredBlob store(BlobFolder folder, String name, Resource content, String replaces) throws IOException {
+        Path incoming = Files.createTempFile(root.resolve(INCOMING_DIRECTORY), "blob", ".part");
+        try {
+            String hash = copyAndHash(content, incoming);
+            String id = hash.substring(0, 2) + "/" + hash + extension(content.getFilename());
+            Path target = root.resolve(folder.getDirectory()).resolve(id);
+            if (!Files.exists(target)) {
+                Files.createDirectories(target.getParent());
+                // Same content under the same name, so a concurrent store of it may win the race harmlessly
+                Files.move(incoming, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            return new StoredBlob(id, baseUrl + "/" + folder.getDirectory() + "/" + id);
+        } finally {
+            Files.deleteIfExists(incoming);
+        }
+    }
+
+    @Override
+    public void delete(BlobFolder folder, String id) throws IOException {
+        Path file = find(folder, id);
+        if (file != null) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * The file of a stored blob, or null if the id is not one of ours or the file does not exist.
+     */
+    public Path find(BlobFolder folder, String id) {
+        // Ids come from URLs, so anything but the exact id format is rejected before touching the filesystem
+        if (id == null || !ID.matcher(id).matches()) {
+            return null;
+        }
+        Path file = root.resolve(folder.getDirectory()).resolve(id);
+        return Files.isRegularFile(file) ? file : null;
+    }
+
+    /**
+     * Read the content through a channel into a direct buffer, updating the digest and writing the same bytes out.
+     */
+    private static String copyAndHash(Resource content, Path destination) throws IOException {
+        MessageDigest digest = sha256();
+        try (ReadableByteChannel in = content.readableChannel();
+             FileChannel out = FileChannel.open(destination, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            while (in.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer.duplicate());
+                while (buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+                buffer.clear();
+            }
+            out.force(true);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static String extension(String filename) {
+        if (filename == null) {
+            return "";
+        }
+        String extension = filename.substring(filename.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+        return filename.indexOf('.') >= 0 && EXTENSION.matcher(extension).matches() ? "." + extension : "";
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
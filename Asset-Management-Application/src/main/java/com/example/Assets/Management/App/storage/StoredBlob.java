@@ -0,0 +1,7 @@
+package com.example.Assets.Management.App.storage;
+
+/**
+ * A stored file: id is what the store needs to replace or delete it later, url is where clients fetch it.
+ */
+public record StoredBlob(String id, String url) {
+}
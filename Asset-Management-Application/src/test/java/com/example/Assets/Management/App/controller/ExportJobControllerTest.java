@@ -0,0 +1,61 @@
+package com.example.Assets.Management.App.controller;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Range header parsing of export downloads: null means the whole file (200), an empty array 416,
+ * otherwise the inclusive byte range sent with 206.
+ */
+class ExportJobControllerTest {
+
+    private static final long SIZE = 1000;
+    private static final long[] UNSATISFIABLE = new long[0];
+
+    @Test
+    void noOrUnsupportedHeaderSendsWholeFile() {
+        assertNull(ExportJobController.parseRange(null, SIZE));
+        assertNull(ExportJobController.parseRange("items=0-10", SIZE));
+        // Multi-range requests get the whole file rather than multipart/byteranges
+        assertNull(ExportJobController.parseRange("bytes=0-10,20-30", SIZE));
+    }
+
+    @Test
+    void boundedAndOpenRanges() {
+        assertArrayEquals(new long[] {0, 99}, ExportJobController.parseRange("bytes=0-99", SIZE));
+        assertArrayEquals(new long[] {500, 999}, ExportJobController.parseRange("bytes=500-", SIZE));
+        assertArrayEquals(new long[] {999, 999}, ExportJobController.parseRange("bytes=999-999", SIZE));
+        // An end past the file is clamped to its last byte
+        assertArrayEquals(new long[] {900, 999}, ExportJobController.parseRange("bytes=900-5000", SIZE));
+    }
+
+    @Test
+    void suffixRanges() {
+        assertArrayEquals(new long[] {900, 999}, ExportJobController.parseRange("bytes=-100", SIZE));
+        // A suffix longer than the file is the whole file
+        assertArrayEquals(new long[] {0, 999}, ExportJobController.parseRange("bytes=-5000", SIZE));
+        assertArrayEquals(UNSATISFIABLE, ExportJobController.parseRange("bytes=-0", SIZE));
+        assertArrayEquals(UNSATISFIABLE, ExportJobController.parseRange("bytes=-10", 0));
+    }
+
+    @Test
+    void rangesStartingPastTheEndAreUnsatisfiable() {
+        assertArrayEquals(UNSATISFIABLE, ExportJobController.parseRange("bytes=1000-", SIZE));
+        assertArrayEquals(UNSATISFIABLE, ExportJobController.parseRange("bytes=1000-1100", SIZE));
+        assertArrayEquals(UNSATISFIABLE, ExportJobController.parseRange("bytes=0-", 0));
+    }
+
+    @Test
+    void invalidRangesAreIgnored() {
+        // RFC 9110 14.1.1: a last-pos below first-pos makes the range invalid, not unsatisfiable
+        assertNull(ExportJobController.parseRange("bytes=500-100", SIZE));
+        assertNull(ExportJobController.parseRange("bytes=--5", SIZE));
+        assertNull(ExportJobController.parseRange("bytes=5--3", SIZE));
+        assertNull(ExportJobController.parseRange("bytes=-", SIZE));
+        assertNull(ExportJobController.parseRange("bytes=", SIZE));
+        assertNull(ExportJobController.parseRange("bytes=abc-10", SIZE));
+        assertNull(ExportJobController.parseRange("bytes=99999999999999999999-", SIZE));
+    }
+}
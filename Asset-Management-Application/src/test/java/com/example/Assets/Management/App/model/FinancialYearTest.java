@@ -0,0 +1,110 @@
+package com.example.Assets.Management.App.model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * FinancialYear parsing, labels and boundaries, for the default April start and a January start.
+ * The start month is global, so every test puts it back to April.
+ */
+class FinancialYearTest {
+
+    @AfterEach
+    void restoreAprilStart() {
+        FinancialYear.configureStartMonth(4);
+    }
+
+    @Test
+    void parsesBothLabelFormatsByStartYear() {
+        assertEquals(2023, FinancialYear.valueOf("2023-24").getStartYear());
+        assertEquals(2023, FinancialYear.valueOf(" 2023 ").getStartYear());
+        // Only the start year is read
+        assertEquals(2023, FinancialYear.valueOf("2023-99").getStartYear());
+    }
+
+    @Test
+    void rejectsMalformedLabels() {
+        for (String label : new String[] {null, "", "23-24", "2023-2024", "2023/24", "FY2023"}) {
+            assertThrows(IllegalArgumentException.class, () -> FinancialYear.valueOf(label), String.valueOf(label));
+        }
+    }
+
+    @Test
+    void aprilStartLabelsAndBoundaries() {
+        FinancialYear year = FinancialYear.valueOf("2023-24");
+        assertEquals("2023-24", year.toString());
+        assertEquals("1999-00", FinancialYear.of(1999).toString());
+        assertEquals(LocalDate.of(2023, 4, 1), year.getStartDate());
+        assertEquals(LocalDate.of(2024, 3, 31), year.getEndDate());
+        assertEquals(year, FinancialYear.of(LocalDate.of(2024, 3, 31)));
+        assertEquals(year.next(), FinancialYear.of(LocalDate.of(2024, 4, 1)));
+        assertTrue(year.contains(LocalDate.of(2023, 4, 1)));
+        assertFalse(year.contains(LocalDate.of(2023, 3, 31)));
+    }
+
+    @Test
+    void januaryStartLabelsAreSingleYears() {
+        FinancialYear.configureStartMonth(1);
+        FinancialYear year = FinancialYear.of(2024);
+        assertEquals("2024", year.toString());
+        assertEquals(year, FinancialYear.valueOf("2024"));
+        assertEquals(LocalDate.of(2024, 1, 1), year.getStartDate());
+        assertEquals(LocalDate.of(2024, 12, 31), year.getEndDate());
+        assertEquals(year, FinancialYear.of(LocalDate.of(2024, 12, 31)));
+        assertEquals(year.next(), FinancialYear.of(LocalDate.of(2025, 1, 1)));
+    }
+
+    @Test
+    void reconfiguringRelabelsExistingYears() {
+        FinancialYear year = FinancialYear.of(2023);
+        FinancialYear.configureStartMonth(1);
+        assertEquals("2023", year.toString());
+        FinancialYear.configureStartMonth(7);
+        assertEquals("2023-24", year.toString());
+        assertEquals(LocalDate.of(2023, 7, 1), year.getStartDate());
+        assertEquals(LocalDate.of(2024, 6, 30), year.getEndDate());
+    }
+
+    @Test
+    void rejectsStartMonthOutsideTheYear() {
+        assertThrows(IllegalArgumentException.class, () -> FinancialYear.configureStartMonth(0));
+        assertThrows(IllegalArgumentException.class, () -> FinancialYear.configureStartMonth(13));
+        assertEquals(4, FinancialYear.getStartMonth());
+    }
+
+    @Test
+    void epochDayLookupMatchesDateLookup() {
+        for (int month : new int[] {1, 4, 10}) {
+            FinancialYear.configureStartMonth(month);
+            for (LocalDate date = LocalDate.of(2019, 12, 25); date.isBefore(LocalDate.of(2021, 1, 10)); date = date.plusDays(1)) {
+                assertEquals(FinancialYear.of(date), FinancialYear.ofEpochDay(date.toEpochDay()), month + " " + date);
+            }
+        }
+    }
+
+    @Test
+    void yearsOutsideTheTableBehaveLikeTableYears() {
+        FinancialYear year = FinancialYear.of(2300);
+        assertEquals("2300-01", year.toString());
+        assertEquals(LocalDate.of(2300, 4, 1), year.getStartDate());
+        assertEquals(year, FinancialYear.ofEpochDay(LocalDate.of(2301, 3, 31).toEpochDay()));
+        // Years inside the table are shared instances
+        assertSame(FinancialYear.of(2023), FinancialYear.valueOf("2023-24"));
+    }
+
+    @Test
+    void rangeIsInclusive() {
+        List<FinancialYear> years = FinancialYear.range(FinancialYear.of(2021), FinancialYear.of(2023));
+        assertEquals(List.of(FinancialYear.of(2021), FinancialYear.of(2022), FinancialYear.of(2023)), years);
+        assertTrue(FinancialYear.range(FinancialYear.of(2023), FinancialYear.of(2021)).isEmpty());
+    }
+}
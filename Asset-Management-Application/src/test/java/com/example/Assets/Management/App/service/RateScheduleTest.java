@@ -0,0 +1,145 @@
+package com.example.Assets.Management.App.service;
+
+import com.example.Assets.Management.App.Enums.DepreciationMethod;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * RateSchedule (prefix factors and interval index) against the segment-by-segment walk that
+ * DepreciationService.calculateDepreciation used before the rate index existed.
+ */
+class RateScheduleTest {
+
+    private static final double PRICE = 100_000.0;
+    private static final double TOLERANCE = 1e-6;
+
+    @Test
+    void disjointSegmentsMatchSegmentWalk() {
+        List<RateSegment> rates = List.of(
+                rate(1, DepreciationMethod.WDV, 40, "2019-04-01", "2020-03-31"),
+                rate(2, DepreciationMethod.SLM, 15, "2020-04-01", "2021-03-31"),
+                rate(3, DepreciationMethod.PRO_RATA, 25, "2021-04-01", "2022-03-31"),
+                // Gap until the next rate starts
+                rate(4, DepreciationMethod.WDV, 30, "2022-07-01", "2023-03-31"),
+                rate(5, DepreciationMethod.SLM, 10, "2023-04-01", null));
+        assertMatchesSegmentWalk(rates);
+    }
+
+    @Test
+    void overlappingSegmentsMatchSegmentWalk() {
+        List<RateSegment> rates = List.of(
+                rate(1, DepreciationMethod.WDV, 40, "2019-04-01", "2020-09-30"),
+                rate(2, DepreciationMethod.SLM, 15, "2020-04-01", "2021-03-31"),
+                // Nested inside the next one
+                rate(3, DepreciationMethod.PRO_RATA, 25, "2021-01-01", "2022-12-31"),
+                rate(4, DepreciationMethod.WDV, 30, "2021-06-01", "2021-08-31"),
+                rate(5, DepreciationMethod.SLM, 10, "2022-04-01", "2024-03-31"));
+        assertMatchesSegmentWalk(rates);
+    }
+
+    @Test
+    void purchaseInsideSegmentIsValuedFromPurchaseDay() {
+        RateSchedule schedule = new RateSchedule(List.of(
+                rate(1, DepreciationMethod.SLM, 20, "2023-04-01", "2024-03-31")));
+        // Bought on 2023-10-01 and held for 183 of the 365 days of the segment's year
+        double expected = PRICE * 0.20 * 183 / 365;
+        assertEquals(expected, schedule.depreciation(PRICE, day("2023-10-01"), day("2024-03-31")), TOLERANCE);
+    }
+
+    @Test
+    void asOfBeforePurchaseHasNoDepreciation() {
+        RateSchedule schedule = new RateSchedule(List.of(
+                rate(1, DepreciationMethod.WDV, 40, "2019-04-01", "2020-03-31"),
+                rate(2, DepreciationMethod.SLM, 15, "2020-04-01", null)));
+        assertEquals(0.0, schedule.depreciation(PRICE, day("2020-06-15"), day("2020-06-14")));
+
+        double[] remaining = schedule.remainingFractions(day("2020-06-15"), new long[] {day("2019-01-01"), day("2020-06-14")});
+        assertEquals(1.0, remaining[0]);
+        assertEquals(1.0, remaining[1]);
+    }
+
+    @Test
+    void noRatesMeansNoDepreciation() {
+        RateSchedule schedule = new RateSchedule(List.of());
+        assertEquals(0.0, schedule.depreciation(PRICE, day("2020-01-01"), day("2025-01-01")));
+    }
+
+    /**
+     * Every purchase day and as-of day on a grid across the timeline, including days before, inside and
+     * after each segment; remainingFractions must agree at the same days.
+     */
+    private static void assertMatchesSegmentWalk(List<RateSegment> rates) {
+        RateSchedule schedule = new RateSchedule(rates);
+        long start = day("2019-01-01");
+        long end = day("2025-06-30");
+        List<Long> asOfGrid = new ArrayList<>();
+        for (long d = start; d <= end; d += 17) {
+            asOfGrid.add(d);
+        }
+        long[] asOfDays = asOfGrid.stream().mapToLong(Long::longValue).toArray();
+
+        for (long purchaseDay = start; purchaseDay <= end; purchaseDay += 29) {
+            double[] remaining = schedule.remainingFractions(purchaseDay, asOfDays);
+            for (int q = 0; q < asOfDays.length; q++) {
+                double expected = segmentWalk(rates, PRICE, LocalDate.ofEpochDay(purchaseDay), LocalDate.ofEpochDay(asOfDays[q]));
+                String at = "purchase " + LocalDate.ofEpochDay(purchaseDay) + ", as of " + LocalDate.ofEpochDay(asOfDays[q]);
+                assertEquals(expected, schedule.depreciation(PRICE, purchaseDay, asOfDays[q]), TOLERANCE, at);
+                assertEquals(expected, PRICE * (1 - remaining[q]), TOLERANCE, "remainingFractions, " + at);
+            }
+        }
+    }
+
+    /** The original calculation; an open-ended rate is treated as running forever. */
+    private static double segmentWalk(List<RateSegment> rates, double purchasePrice, LocalDate purchaseDate, LocalDate asOfDate) {
+        if (asOfDate.isBefore(purchaseDate)) {
+            return 0.0;
+        }
+        List<RateSegment> applicable = rates.stream()
+                .filter(rate -> !endOf(rate).isBefore(purchaseDate))
+                .filter(rate -> !rate.getEffectiveFromDate().isAfter(asOfDate))
+                .sorted(Comparator.comparing(RateSegment::getEffectiveFromDate).thenComparing(RateSegment::getId))
+                .toList();
+
+        double currentValue = purchasePrice;
+        LocalDate currentDate = purchaseDate;
+        for (RateSegment rate : applicable) {
+            LocalDate periodStart = currentDate.isAfter(rate.getEffectiveFromDate()) ? currentDate : rate.getEffectiveFromDate();
+            LocalDate periodEnd = asOfDate.isBefore(endOf(rate)) ? asOfDate : endOf(rate);
+            if (periodStart.isAfter(periodEnd)) {
+                continue;
+            }
+            long daysInPeriod = ChronoUnit.DAYS.between(periodStart, periodEnd.plusDays(1));
+            long daysInYear = periodStart.isLeapYear() ? 366 : 365;
+            double fraction = rate.getDepreciationPercentage() / 100 * daysInPeriod / daysInYear;
+            if (rate.getDepreciationMethod() == DepreciationMethod.SLM) {
+                currentValue -= purchasePrice * fraction;
+            } else {
+                currentValue -= currentValue * fraction;
+            }
+            currentDate = periodEnd.plusDays(1);
+            if (currentDate.isAfter(asOfDate)) {
+                break;
+            }
+        }
+        return purchasePrice - currentValue;
+    }
+
+    private static LocalDate endOf(RateSegment rate) {
+        return rate.getEffectiveToDate() != null ? rate.getEffectiveToDate() : LocalDate.MAX;
+    }
+
+    private static RateSegment rate(long id, DepreciationMethod method, double percentage, String from, String to) {
+        return new RateSegment(id, 1L, method, percentage, LocalDate.parse(from), to != null ? LocalDate.parse(to) : null);
+    }
+
+    private static long day(String date) {
+        return LocalDate.parse(date).toEpochDay();
+    }
+}
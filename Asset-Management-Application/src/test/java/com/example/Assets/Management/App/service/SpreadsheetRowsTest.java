@@ -0,0 +1,99 @@
+package com.example.Assets.Management.App.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The CSV reader of the bulk import: quoting, line endings, byte order mark, blank lines and row numbers.
+ */
+class SpreadsheetRowsTest {
+
+    @Test
+    void plainRowsAreNumberedFromTheHeader() throws IOException {
+        assertEquals(List.of(
+                        row(1, "assetName", "amount"),
+                        row(2, "Laptop", "1200"),
+                        row(3, "Desk", "")),
+                readCsv("assetName,amount\nLaptop,1200\nDesk,\n"));
+    }
+
+    @Test
+    void quotedFieldsKeepCommasAndEscapedQuotes() throws IOException {
+        assertEquals(List.of(
+                        row(1, "Dell, Inc.", "the \"pro\" model", ""),
+                        row(2, "\"", "x")),
+                readCsv("\"Dell, Inc.\",\"the \"\"pro\"\" model\",\"\"\n\"\"\"\",x"));
+    }
+
+    @Test
+    void quotedNewlinesStayInTheFieldAndCountTowardsRowNumbers() throws IOException {
+        assertEquals(List.of(
+                        row(1, "description", "qty"),
+                        row(2, "line one\nline two", "1"),
+                        row(4, "next", "2")),
+                readCsv("description,qty\n\"line one\nline two\",1\nnext,2\n"));
+    }
+
+    @Test
+    void crlfAndBareCrEndRows() throws IOException {
+        assertEquals(List.of(row(1, "a", "b"), row(2, "c", "d"), row(3, "e", "f")),
+                readCsv("a,b\r\nc,d\re,f\r\n"));
+        // Inside quotes a line break is data, kept as written
+        assertEquals(List.of(row(1, "x\r\ny", "z")), readCsv("\"x\r\ny\",z\r\n"));
+    }
+
+    @Test
+    void byteOrderMarkIsDropped() throws IOException {
+        assertEquals(List.of(row(1, "assetId", "amount"), row(2, "7", "10")),
+                readCsv("\uFEFFassetId,amount\r\n7,10\r\n"));
+    }
+
+    @Test
+    void blankLinesAreSkippedButKeepTheirNumbers() throws IOException {
+        assertEquals(List.of(row(1, "a"), row(4, "b"), row(6, "c")),
+                readCsv("a\n\n,\nb\n   \nc"));
+    }
+
+    @Test
+    void textAfterAClosingQuoteJoinsTheField() throws IOException {
+        assertEquals(List.of(row(1, "ab", "c\"d")), readCsv("\"a\"b,c\"d"));
+    }
+
+    @Test
+    void emptyFileHasNoRows() throws IOException {
+        assertEquals(List.of(), readCsv(""));
+        assertEquals(List.of(), readCsv("\uFEFF"));
+    }
+
+    private static List<List<Object>> readCsv(String content) throws IOException {
+        Path file = Files.createTempFile("spreadsheet-rows-", ".csv");
+        try {
+            Files.writeString(file, content, StandardCharsets.UTF_8);
+            List<List<Object>> rows = new ArrayList<>();
+            SpreadsheetRows.readCsv(file, (rowNumber, values) -> {
+                List<Object> row = new ArrayList<>();
+                row.add(rowNumber);
+                row.addAll(values);
+                rows.add(row);
+            });
+            return rows;
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static List<Object> row(int rowNumber, String... values) {
+        List<Object> row = new ArrayList<>();
+        row.add(rowNumber);
+        row.addAll(List.of(values));
+        return row;
+    }
+}